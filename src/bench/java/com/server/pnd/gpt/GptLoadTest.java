@@ -0,0 +1,292 @@
+package com.server.pnd.gpt;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * GPT 생성 요청이 몰릴 때 일반 GET 응답 시간이 유지되는지 보는 부하 테스트 (./gradlew gptLoadTest -PbenchArgs="...")
+ * 실행 중인 서버에 대고 돌린다. 서버의 chatgpt.api.url 을 이 테스트가 띄우는 OpenAI stub 으로 돌려 두어야 한다.
+ *   ./gradlew bootRun --args='--chatgpt.api.url=http://localhost:18080/v1/chat/completions'
+ * 1. baseline : 부하 없이 --get-path 를 --probe-seconds 동안 반복 조회
+ * 2. loaded   : --generate-path 로 생성 요청 --generations 개를 한꺼번에 보내고,
+ *               stub 이 그만큼의 요청을 붙잡고 있는 동안(--gpt-latency-ms) 같은 GET 을 다시 반복 조회
+ * 생성 요청은 결과를 DB 에 저장하므로 GPT 컬럼이 비어 있는 레포를 쓰는 테스트용 DB 에서 돌린다.
+ * --repo-ids 의 레포를 돌아가며 {repoId} 자리에 넣는다. (예: --repo-ids=1-200 이면 요청마다 다른 레포)
+ *
+ * 옵션
+ *   --base-url=http://localhost:8080
+ *   --get-path=/api/pnd/readme/{repoId}             조회 요청 (GET)
+ *   --generate-path=/api/pnd/readme/{repoId}        생성 요청 (PATCH)
+ *   --repo-ids=1                                    쉼표 또는 a-b 범위
+ *   --generations=200 --gpt-latency-ms=30000
+ *   --probe-seconds=10 --probe-interval-ms=50
+ *   --stub-port=18080 (0 이면 stub 을 띄우지 않음)
+ *   --out=build/bench/gpt-load.json
+ */
+public class GptLoadTest {
+    private static final int SCHEMA_VERSION = 1;
+    private static final String STUB_PATH = "/v1/chat/completions";
+
+    private final Options options;
+    private final HttpClient client;
+    private final AtomicInteger stubInFlight = new AtomicInteger();
+    private final AtomicInteger stubPeakInFlight = new AtomicInteger();
+
+    private GptLoadTest(Options options) {
+        this.options = options;
+        // 생성 요청 수만큼 연결을 따로 연다 (HTTP/1.1, 요청마다 하나의 서버 스레드 또는 비동기 응답)
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool(daemon("load-client")))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        String startedAt = OffsetDateTime.now().toString();
+        GptLoadTest test = new GptLoadTest(options);
+
+        HttpServer stub = options.stubPort > 0 ? test.startStub() : null;
+        try {
+            LoadResult result = test.run();
+            Report report = new Report(SCHEMA_VERSION, startedAt, options, result);
+            ObjectMapper writer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            Path out = Path.of(options.out);
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            writer.writeValue(out.toFile(), report);
+            System.out.println(writer.writeValueAsString(report));
+            System.out.println("부하 테스트 결과 저장: " + out.toAbsolutePath());
+        } finally {
+            if (stub != null) {
+                stub.stop(0);
+            }
+        }
+    }
+
+    private LoadResult run() throws Exception {
+        LatencyResult baseline = probe();
+
+        // 생성 요청을 한꺼번에 보낸다
+        long generationStartedAt = System.nanoTime();
+        List<CompletableFuture<Generation>> generations = new ArrayList<>();
+        for (int i = 0; i < options.generations; i++) {
+            long repoId = options.repoIds.get(i % options.repoIds.size());
+            HttpRequest request = HttpRequest.newBuilder(uri(options.generatePath, repoId))
+                    .timeout(Duration.ofMillis(options.gptLatencyMs + 120_000))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            long sentAt = System.nanoTime();
+            generations.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> new Generation(response != null ? response.statusCode() : -1, millisSince(sentAt))));
+        }
+
+        // stub 이 생성 요청을 모두 받을 때까지 대기 (서버가 요청 스레드를 붙잡으면 여기서 다 못 받음)
+        if (options.stubPort > 0) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (stubInFlight.get() < options.generations && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+        }
+        int inFlightAtProbe = stubInFlight.get();
+        LatencyResult loaded = probe();
+
+        Map<String, Integer> statuses = new TreeMap<>();
+        double[] generationMillis = new double[generations.size()];
+        for (int i = 0; i < generations.size(); i++) {
+            Generation generation = generations.get(i).join();
+            statuses.merge(generation.status < 0 ? "error" : String.valueOf(generation.status), 1, Integer::sum);
+            generationMillis[i] = generation.millis;
+        }
+
+        return new LoadResult(baseline, loaded, inFlightAtProbe, stubPeakInFlight.get(), statuses,
+                LatencyResult.of(generationMillis, 0), round(millisSince(generationStartedAt)));
+    }
+
+    // --probe-seconds 동안 GET 을 하나씩 보내며 응답 시간 측정
+    private LatencyResult probe() throws InterruptedException {
+        List<Double> millis = new ArrayList<>();
+        int failures = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.probeSeconds);
+        int index = 0;
+        while (System.nanoTime() < deadline) {
+            long repoId = options.repoIds.get(index++ % options.repoIds.size());
+            HttpRequest request = HttpRequest.newBuilder(uri(options.getPath, repoId))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long sentAt = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    failures++;
+                }
+            } catch (IOException e) {
+                failures++;
+            }
+            millis.add(millisSince(sentAt));
+            Thread.sleep(options.probeIntervalMs);
+        }
+        return LatencyResult.of(millis.stream().mapToDouble(Double::doubleValue).toArray(), failures);
+    }
+
+    // OpenAI chat completions stub (--gpt-latency-ms 만큼 붙잡았다가 고정 응답)
+    private HttpServer startStub() throws IOException {
+        byte[] body = ("{\"id\":\"chatcmpl-load\",\"object\":\"chat.completion\",\"choices\":[{\"index\":0,"
+                + "\"message\":{\"role\":\"assistant\",\"content\":\"# load test\\n부하 테스트 응답\"},\"finish_reason\":\"stop\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(options.stubPort), 1024);
+        server.createContext(STUB_PATH, exchange -> {
+            int inFlight = stubInFlight.incrementAndGet();
+            stubPeakInFlight.accumulateAndGet(inFlight, Math::max);
+            try (InputStream in = exchange.getRequestBody(); OutputStream out = exchange.getResponseBody()) {
+                in.readAllBytes();
+                Thread.sleep(options.gptLatencyMs);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                out.write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                stubInFlight.decrementAndGet();
+            }
+        });
+        ExecutorService executor = Executors.newCachedThreadPool(daemon("openai-stub"));
+        server.setExecutor(executor);
+        server.start();
+        System.out.println("OpenAI stub: http://localhost:" + options.stubPort + STUB_PATH);
+        return server;
+    }
+
+    private URI uri(String path, long repoId) {
+        return URI.create(options.baseUrl + path.replace("{repoId}", String.valueOf(repoId)));
+    }
+
+    private static double millisSince(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Generation(int status, double millis) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record LatencyResult(int requests, Integer failures, double p50Ms, double p99Ms, double meanMs, double maxMs) {
+
+        static LatencyResult of(double[] millis, int failures) {
+            if (millis.length == 0) {
+                return new LatencyResult(0, failures, 0, 0, 0, 0);
+            }
+            double[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            return new LatencyResult(sorted.length, failures > 0 ? failures : null,
+                    round(percentile(sorted, 50)), round(percentile(sorted, 99)),
+                    round(Arrays.stream(sorted).average().orElse(0)), round(sorted[sorted.length - 1]));
+        }
+
+        // nearest-rank 백분위수
+        private static double percentile(double[] sorted, double percent) {
+            int rank = (int) Math.ceil(percent / 100 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+        }
+    }
+
+    // inFlightAtProbe : loaded 측정을 시작할 때 stub 이 붙잡고 있던 생성 요청 수
+    record LoadResult(LatencyResult baseline, LatencyResult loaded, int inFlightAtProbe, int peakInFlight,
+                      Map<String, Integer> generationStatuses, LatencyResult generations, double totalMs) {
+    }
+
+    record Report(int schemaVersion, String startedAt, Options options, LoadResult result) {
+    }
+
+    record Options(String baseUrl, String getPath, String generatePath, List<Long> repoIds, int generations,
+                   long gptLatencyMs, int probeSeconds, long probeIntervalMs, int stubPort, String out) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("알 수 없는 옵션: " + arg);
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            Options options = new Options(
+                    values.getOrDefault("base-url", "http://localhost:8080"),
+                    values.getOrDefault("get-path", "/api/pnd/readme/{repoId}"),
+                    values.getOrDefault("generate-path", "/api/pnd/readme/{repoId}"),
+                    ids(values.getOrDefault("repo-ids", "1")),
+                    Integer.parseInt(values.getOrDefault("generations", "200")),
+                    Long.parseLong(values.getOrDefault("gpt-latency-ms", "30000")),
+                    Integer.parseInt(values.getOrDefault("probe-seconds", "10")),
+                    Long.parseLong(values.getOrDefault("probe-interval-ms", "50")),
+                    Integer.parseInt(values.getOrDefault("stub-port", "18080")),
+                    values.getOrDefault("out", "build/bench/gpt-load.json"));
+            if (options.repoIds.isEmpty() || options.generations < 1 || options.probeSeconds < 1) {
+                throw new IllegalArgumentException("repo-ids 는 하나 이상, generations, probe-seconds 는 1 이상이어야 합니다.");
+            }
+            if (options.stubPort > 0 && TimeUnit.SECONDS.toMillis(options.probeSeconds) >= options.gptLatencyMs) {
+                throw new IllegalArgumentException("probe-seconds 는 gpt-latency-ms 보다 짧아야 생성 요청이 진행 중일 때 측정됩니다.");
+            }
+            return options;
+        }
+
+        // 1,2,3 또는 1-200
+        private static List<Long> ids(String csv) {
+            List<Long> ids = new ArrayList<>();
+            for (String part : csv.split(",")) {
+                String value = part.trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                int dash = value.indexOf('-', 1);
+                if (dash > 0) {
+                    long from = Long.parseLong(value.substring(0, dash));
+                    long to = Long.parseLong(value.substring(dash + 1));
+                    for (long id = from; id <= to; id++) {
+                        ids.add(id);
+                    }
+                } else {
+                    ids.add(Long.valueOf(value));
+                }
+            }
+            return ids;
+        }
+    }
+}
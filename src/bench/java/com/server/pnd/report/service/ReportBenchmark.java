@@ -0,0 +1,289 @@
+package com.server.pnd.report.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.server.pnd.report.config.GitHubHistoryConfig;
+import com.server.pnd.report.config.RenderConfig;
+import com.server.pnd.report.dto.GitHubRepositoryDto;
+import com.server.pnd.report.dto.RenderJobDto;
+import com.server.pnd.report.dto.RenderResultDto;
+import com.server.pnd.report.dto.RepositorySummaryDto;
+import com.server.pnd.report.metrics.ReportStageMetrics;
+import com.server.pnd.report.render.RenderProcessSupervisor;
+import com.server.pnd.report.render.RenderWorkerPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * 레포트 생성 벤치마크 (./gradlew reportBenchmark -PbenchArgs="--sizes=100,1000 --iterations=10")
+ * 합성 GraphQL 응답(SyntheticGitHub)으로 커밋 수, 언어 수별로 단계마다 시간을 재고 결과를 JSON 으로 남긴다.
+ * - aggregate  : GraphQL 페이지 조회/파싱 -> CommitStatsAggregator -> RepositorySummaryDto
+ * - render     : 미리 집계한 요약으로 렌더 워커 실행 (RenderProcessSupervisor, 워커 1개)
+ * - endToEnd   : 조회/집계와 GPT 를 동시에 -> 렌더 -> S3 업로드 (ReportGenerator 와 같은 순서)
+ * GPT 와 S3 는 실제로 호출하지 않는다. GPT 는 고정 응답(--gpt-latency-ms 만큼 대기), S3 는 업로드 바이트 수만 센다.
+ * 커밋 원장과 DB 저장은 포함하지 않는다.
+ *
+ * 옵션
+ *   --sizes=100,1000,10000,100000   커밋 수
+ *   --languages=10                  언어 수 (쉼표로 여러 개)
+ *   --iterations=20 --warmup=3      단계별 측정/예열 횟수
+ *   --gpt-latency-ms=0              GPT stub 응답 지연
+ *   --bundle=build/renderer/index.js --out=build/bench/report-bench.json
+ */
+public class ReportBenchmark {
+    private static final int SCHEMA_VERSION = 1;
+
+    // GPT stub 응답 (회고 가이드와 비슷한 크기의 HTML)
+    private static final String RETROSPECT = "<h1 style=\"margin-bottom: -10px;\">bench-repo 프로젝트 회고가이드</h1>"
+            + "<div style=\"display: flex;\">" + "<p>벤치마크용 회고 가이드 문단입니다.</p>".repeat(40) + "</div>";
+
+    private final Options options;
+    private final SyntheticGitHub github;
+    private final GitHubGraphQLService gitHubGraphQLService;
+    private final RenderProcessSupervisor renderProcessSupervisor;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService ioExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "bench-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ReportBenchmark(Options options, AnnotationConfigApplicationContext context) {
+        this.options = options;
+        this.github = context.getBean(SyntheticGitHub.class);
+        this.gitHubGraphQLService = context.getBean(GitHubGraphQLService.class);
+        this.renderProcessSupervisor = context.getBean(RenderProcessSupervisor.class);
+        this.objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        String startedAt = OffsetDateTime.now().toString();
+
+        try (AnnotationConfigApplicationContext context = createContext(options)) {
+            ReportBenchmark benchmark = new ReportBenchmark(options, context);
+            List<CaseResult> results = new ArrayList<>();
+            for (int languages : options.languages) {
+                for (int commits : options.sizes) {
+                    results.add(benchmark.run(commits, languages));
+                }
+            }
+
+            Map<String, Object> environment = new LinkedHashMap<>();
+            environment.put("java", System.getProperty("java.version"));
+            environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+            environment.put("processors", Runtime.getRuntime().availableProcessors());
+            environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+            environment.put("rendererBundle", Path.of(options.bundle).toAbsolutePath().toString());
+            environment.put("rendererBundleExists", Files.isRegularFile(Path.of(options.bundle)));
+
+            BenchmarkReport report = new BenchmarkReport(SCHEMA_VERSION, startedAt, environment, options, results);
+            ObjectMapper writer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            Path out = Path.of(options.out);
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            writer.writeValue(out.toFile(), report);
+            System.out.println(writer.writeValueAsString(report));
+            System.out.println("벤치마크 결과 저장: " + out.toAbsolutePath());
+        }
+    }
+
+    // 벤치마크에 필요한 빈만 띄운다 (렌더 워커 풀, GraphQL 서비스, 합성 GitHub)
+    private static AnnotationConfigApplicationContext createContext(Options options) {
+        int maxCommits = options.sizes.stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("bench", Map.of(
+                "report.render.pool-size", "1",
+                "report.render.max-jobs-per-worker", String.valueOf(Integer.MAX_VALUE), // 워커 재시작이 측정에 섞이지 않도록
+                "report.render.timeout-seconds", "300",
+                "report.render.runtime", "bundle",
+                "report.render.bundle-path", options.bundle,
+                "report.github.max-commits", String.valueOf(maxCommits))));
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        SyntheticGitHub github = new SyntheticGitHub(objectMapper);
+        context.registerBean(ObjectMapper.class, () -> objectMapper);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(SyntheticGitHub.class, () -> github);
+        context.register(RenderConfig.class, GitHubHistoryConfig.class, ReportStageMetrics.class, RenderWorkerPool.class,
+                RenderProcessSupervisor.class, GitHubGraphQLService.class);
+        context.refresh();
+        return context;
+    }
+
+    // 커밋 수, 언어 수 하나에 대해 세 단계 측정
+    private CaseResult run(int commits, int languages) throws Exception {
+        System.out.println("측정 중 commits=" + commits + ", languages=" + languages);
+        github.use(commits, languages);
+
+        // 예열 겸 입력 크기 확인 (첫 조회에서 페이지가 캐시된다)
+        long servedBefore = github.getBytesServed();
+        RepositorySummaryDto summary = aggregate();
+        long payloadBytes = github.getBytesServed() - servedBefore;
+        long summaryBytes = objectMapper.writeValueAsBytes(summary).length;
+
+        Map<String, StageResult> stages = new LinkedHashMap<>();
+        stages.put("aggregate", measure(() -> {
+            aggregate();
+            return Sample.EMPTY;
+        }));
+        stages.put("render", measure(() -> {
+            RenderResultDto result = render(summary, RETROSPECT);
+            return new Sample(result.getRss(), upload(result));
+        }));
+        stages.put("endToEnd", measure(this::endToEnd));
+        return new CaseResult(commits, languages, payloadBytes, summaryBytes, stages);
+    }
+
+    private RepositorySummaryDto aggregate() {
+        CommitStatsAggregator aggregator = new CommitStatsAggregator();
+        GitHubRepositoryDto repository = gitHubGraphQLService.fetchRepository("bench-token", "bench", "", "bench-repo", null, aggregator);
+        return aggregator.toSummary(repository);
+    }
+
+    private RenderResultDto render(RepositorySummaryDto summary, String retrospect) throws Exception {
+        return renderProcessSupervisor.render(RenderJobDto.builder()
+                .summary(summary)
+                .username("bench")
+                .retrospect(retrospect)
+                .build());
+    }
+
+    private Sample endToEnd() throws Exception {
+        CompletableFuture<RepositorySummaryDto> summaryFuture = CompletableFuture.supplyAsync(this::aggregate, ioExecutor);
+        CompletableFuture<String> retrospectFuture = CompletableFuture.supplyAsync(this::callGpt, ioExecutor);
+        RenderResultDto result = render(summaryFuture.join(), retrospectFuture.join());
+        return new Sample(result.getRss(), upload(result));
+    }
+
+    // GPT stub
+    private String callGpt() {
+        if (options.gptLatencyMs > 0) {
+            try {
+                Thread.sleep(options.gptLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return RETROSPECT;
+    }
+
+    // S3 stub : 업로드할 바이트 수만 센다
+    private static long upload(RenderResultDto result) {
+        if (result.getSvgs() == null || result.getSvgs().isEmpty()) {
+            throw new IllegalStateException("렌더링 결과가 없음.");
+        }
+        return result.getSvgs().get(0).getContent().length;
+    }
+
+    // 예열 후 반복 측정
+    private StageResult measure(Task task) throws Exception {
+        for (int i = 0; i < options.warmup; i++) {
+            task.run();
+        }
+
+        double[] millis = new double[options.iterations];
+        long peakRss = 0;
+        long bytesWritten = 0;
+        for (int i = 0; i < options.iterations; i++) {
+            long startedAt = System.nanoTime();
+            Sample sample = task.run();
+            millis[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+            peakRss = Math.max(peakRss, sample.rss());
+            bytesWritten = Math.max(bytesWritten, sample.bytes());
+        }
+        return StageResult.of(millis, peakRss, bytesWritten);
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        Sample run() throws Exception;
+    }
+
+    // 한 번 실행한 결과 (작업 직후 렌더 워커 메모리, 레포트 한 건이 S3 에 쓰는 바이트)
+    private record Sample(long rss, long bytes) {
+        static final Sample EMPTY = new Sample(0, 0);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record StageResult(int iterations, double p50Ms, double p99Ms, double meanMs, double minMs, double maxMs,
+                       Long peakRendererRssBytes, Long bytesWritten) {
+
+        static StageResult of(double[] millis, long peakRss, long bytesWritten) {
+            double[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            return new StageResult(sorted.length,
+                    round(percentile(sorted, 50)), round(percentile(sorted, 99)),
+                    round(Arrays.stream(sorted).average().orElse(0)),
+                    round(sorted[0]), round(sorted[sorted.length - 1]),
+                    peakRss > 0 ? peakRss : null, bytesWritten > 0 ? bytesWritten : null);
+        }
+
+        // nearest-rank 백분위수
+        private static double percentile(double[] sorted, double percent) {
+            int rank = (int) Math.ceil(percent / 100 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+
+    // payloadBytes : GraphQL 응답 전체 크기, summaryBytes : 렌더 워커에 보내는 요약 JSON 크기
+    record CaseResult(int commits, int languages, long payloadBytes, long summaryBytes, Map<String, StageResult> stages) {
+    }
+
+    record BenchmarkReport(int schemaVersion, String startedAt, Map<String, Object> environment, Options options,
+                           List<CaseResult> results) {
+    }
+
+    record Options(List<Integer> sizes, List<Integer> languages, int iterations, int warmup, long gptLatencyMs,
+                   String bundle, String out) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("알 수 없는 옵션: " + arg);
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            Options options = new Options(
+                    integers(values.getOrDefault("sizes", "100,1000,10000,100000")),
+                    integers(values.getOrDefault("languages", "10")),
+                    Integer.parseInt(values.getOrDefault("iterations", "20")),
+                    Integer.parseInt(values.getOrDefault("warmup", "3")),
+                    Long.parseLong(values.getOrDefault("gpt-latency-ms", "0")),
+                    values.getOrDefault("bundle", "build/renderer/index.js"),
+                    values.getOrDefault("out", "build/bench/report-bench.json"));
+            if (options.sizes.isEmpty() || options.languages.isEmpty() || options.iterations < 1 || options.warmup < 0) {
+                throw new IllegalArgumentException("sizes, languages 는 하나 이상, iterations 는 1 이상이어야 합니다.");
+            }
+            return options;
+        }
+
+        private static List<Integer> integers(String csv) {
+            return Arrays.stream(csv.split(","))
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .map(Integer::valueOf)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.server.pnd.report.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 합성 GitHub GraphQL 응답을 돌려주는 RestTemplate (벤치마크용)
+ * - GitHubGraphQLService 가 보내는 HISTORY_QUERY 의 변수(first, after, withMeta)를 읽어
+ *   실제 API 와 같은 모양의 repository 페이지를 만든다. (커밋은 최신순, 커서는 "cursor:오프셋")
+ * - 커밋은 인덱스마다 고정된 seed 로 만들므로 실행마다 같은 데이터가 나온다.
+ * - 한 번 만든 페이지는 캐시하므로 측정에는 응답 파싱과 집계 비용만 들어간다.
+ */
+class SyntheticGitHub extends RestTemplate {
+    private static final long SEED = 20240817L;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    // 언어 이름, 색상 (이보다 많이 요청하면 이름을 만들어 쓴다)
+    private static final String[][] LANGUAGES = {
+            {"Java", "#b07219"}, {"TypeScript", "#3178c6"}, {"JavaScript", "#f1e05a"}, {"Python", "#3572A5"},
+            {"Kotlin", "#A97BFF"}, {"Go", "#00ADD8"}, {"HTML", "#e34c26"}, {"CSS", "#563d7c"},
+            {"Shell", "#89e051"}, {"Dockerfile", "#384d54"}, {"Rust", "#dea584"}, {"C++", "#f34b7d"},
+    };
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, String> pages = new ConcurrentHashMap<>();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    private volatile int commits;
+    private volatile int languages;
+    private volatile LocalDate lastDay;
+
+    SyntheticGitHub(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // 이후 요청에 사용할 레포지토리 크기 지정 (캐시된 페이지는 버린다)
+    void use(int commits, int languages) {
+        this.commits = commits;
+        this.languages = languages;
+        this.lastDay = LocalDate.now(ZoneOffset.UTC);
+        pages.clear();
+    }
+
+    // 지금까지 돌려준 응답 크기 합 (bytes, UTF-8 기준 ASCII 만 사용)
+    long getBytesServed() {
+        return bytesServed.get();
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity,
+                                          Class<T> responseType, Object... uriVariables) {
+        JsonNode variables;
+        try {
+            variables = objectMapper.readTree(String.valueOf(requestEntity.getBody())).path("variables");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("벤치마크 GraphQL 요청 파싱 중 오류 발생", e);
+        }
+
+        String after = variables.path("after").isTextual() ? variables.path("after").asText() : null;
+        int offset = after != null ? Integer.parseInt(after.substring("cursor:".length())) : 0;
+        int first = variables.path("first").asInt();
+        boolean withMeta = variables.path("withMeta").asBoolean(false);
+
+        String body = pages.computeIfAbsent(offset + ":" + first + ":" + withMeta, key -> page(offset, first, withMeta));
+        bytesServed.addAndGet(body.length());
+        return ResponseEntity.ok(responseType.cast(body));
+    }
+
+    // repository 페이지 하나 (withMeta 이면 레포 정보와 언어 포함)
+    private String page(int offset, int first, boolean withMeta) {
+        int end = Math.min(commits, offset + first);
+        StringBuilder json = new StringBuilder(256 + (end - offset) * 220);
+        json.append("{\"data\":{\"repository\":{");
+        if (withMeta) {
+            appendMeta(json);
+        }
+        json.append("\"defaultBranchRef\":{\"name\":\"main\",\"target\":{\"oid\":\"").append(oid(new SplittableRandom(SEED), 0))
+                .append("\",\"history\":{\"pageInfo\":{\"hasNextPage\":").append(end < commits)
+                .append(",\"endCursor\":\"cursor:").append(end).append("\"},\"edges\":[");
+        for (int index = offset; index < end; index++) {
+            if (index > offset) {
+                json.append(',');
+            }
+            appendCommit(json, index);
+        }
+        return json.append("]}}}}}}").toString();
+    }
+
+    private void appendMeta(StringBuilder json) {
+        json.append("\"name\":\"bench-repo\",\"forkCount\":12,\"stargazerCount\":345,");
+        json.append("\"primaryLanguage\":{\"name\":\"").append(languageName(0)).append("\",\"color\":\"").append(languageColor(0)).append("\"},");
+        json.append("\"languages\":{\"edges\":[");
+        for (int i = 0; i < languages; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"node\":{\"name\":\"").append(languageName(i)).append("\",\"color\":\"").append(languageColor(i))
+                    .append("\"},\"size\":").append(1_000_000L / (i + 1)).append('}');
+        }
+        json.append("]},");
+    }
+
+    // 커밋 하나 (인덱스가 클수록 오래된 커밋, 기간은 커밋 수에 따라 30일 ~ 10년)
+    private void appendCommit(StringBuilder json, int index) {
+        SplittableRandom random = new SplittableRandom(SEED + index);
+        int spanDays = Math.max(30, Math.min(3650, commits / 3));
+        long secondsAgo = (long) index * spanDays * 86400L / commits + random.nextInt(3600);
+        String committedDate = lastDay.atStartOfDay().atOffset(ZoneOffset.UTC).plusHours(23).minusSeconds(secondsAgo).format(DATE_FORMAT);
+
+        int additions = 1 + (int) (-Math.log(1 - random.nextDouble()) * 80);
+        int deletions = random.nextInt(additions + 1);
+        int changedFiles = 1 + (int) Math.min(120, -Math.log(1 - random.nextDouble()) * 6);
+        int authors = Math.max(1, Math.min(200, (int) Math.sqrt(commits)));
+
+        json.append("{\"node\":{\"oid\":\"").append(oid(random, index))
+                .append("\",\"committedDate\":\"").append(committedDate)
+                .append("\",\"additions\":").append(additions)
+                .append(",\"deletions\":").append(deletions)
+                .append(",\"changedFiles\":").append(changedFiles)
+                .append(",\"author\":{\"name\":\"dev-").append(random.nextInt(authors)).append("\"}}}");
+    }
+
+    private static String oid(SplittableRandom random, int index) {
+        return String.format("%016x%016x%08x", random.nextLong(), random.nextLong(), index);
+    }
+
+    private static String languageName(int i) {
+        return i < LANGUAGES.length ? LANGUAGES[i][0] : "Lang-" + i;
+    }
+
+    private static String languageColor(int i) {
+        return i < LANGUAGES.length ? LANGUAGES[i][1] : String.format("#%06x", (i * 0x2f4a7b) & 0xffffff);
+    }
+}
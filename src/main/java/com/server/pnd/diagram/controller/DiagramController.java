@@ -6,8 +6,12 @@ import com.server.pnd.diagram.dto.DiagramUpdateRequestDto;
 import com.server.pnd.diagram.service.DiagramService;
 import com.server.pnd.domain.Diagram;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController // RESTful 컨트롤러로 지정
 @RequiredArgsConstructor
@@ -17,27 +21,48 @@ public class DiagramController {
 
     /*
      * 다이어그램 GPT 생성
+     * GPT 응답을 기다리는 동안 요청 스레드를 반환 (CompletableFuture, 비동기 서블릿 응답)
      */
 
     // 클래스 다이어그램 GPT 답변 채택하기
     @PatchMapping("/class-gpt")
-    public ResponseEntity<?> recieveClassDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<?>> recieveClassDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
         return diagramService.recieveClassDiagramAnswer(requestDto);
     }
 
     // 시퀀스 다이어그램 GPT 답변 채택하기
     @PatchMapping("/sequence-gpt")
-    public ResponseEntity<?> recieveSequenceDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<?>> recieveSequenceDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
         return diagramService.recieveSequenceDiagramAnswer(requestDto);
     }
 
     // ER 다이어그램 GPT 답변 채택하기
     @PatchMapping("/er-gpt")
-    public ResponseEntity<?> recieveERDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<?>> recieveERDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
         return diagramService.recieveERDiagramAnswer(requestDto);
     }
 
 
+    /*
+     * 다이어그램 GPT 생성 스트리밍 (text/event-stream, event: token -> done | error)
+     */
+
+    @PatchMapping(value = "/class-gpt/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamClassDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
+        return diagramService.streamClassDiagramAnswer(requestDto);
+    }
+
+    @PatchMapping(value = "/sequence-gpt/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSequenceDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
+        return diagramService.streamSequenceDiagramAnswer(requestDto);
+    }
+
+    @PatchMapping(value = "/er-gpt/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamERDiagramAnswer(@RequestBody DiagramRequestDto requestDto) {
+        return diagramService.streamERDiagramAnswer(requestDto);
+    }
+
+
     /*
      * 유저 생성 다이어그램 조회
      */
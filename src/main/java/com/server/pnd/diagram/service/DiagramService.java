@@ -5,6 +5,7 @@ import com.server.pnd.diagram.dto.DiagramUpdateRequestDto;
 import com.server.pnd.diagram.repository.DiagramRepository;
 import com.server.pnd.domain.Diagram;
 import com.server.pnd.domain.Repo;
+import com.server.pnd.gpt.cache.GptFeature;
 import com.server.pnd.gpt.dto.ChatCompletionDto;
 import com.server.pnd.gpt.dto.ChatRequestMsgDto;
 import com.server.pnd.repo.repository.RepoRepository;
@@ -14,9 +15,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Transactional
@@ -31,41 +34,55 @@ public class DiagramService {
 
     // GPT 클래스 다이어그램
     // 레포지토리 링크와 함께 질문하여 클래스 다이어그램 제작을 위한 플로우차트 답변 받기
-    public ResponseEntity<?> recieveClassDiagramAnswer(DiagramRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<?>> recieveClassDiagramAnswer(DiagramRequestDto requestDto) {
         return processDiagramAnswer(requestDto, "classDiagram", Diagram::getClassScriptGpt, Diagram::updateClassScriptGpt);
     }
 
     // GPT 시퀀스 다이어그램
     // 레포지토리 링크와 함께 질문하여 시퀀스 다이어그램 제작을 위한 플로우차트 답변 받기
-    public ResponseEntity<?> recieveSequenceDiagramAnswer(DiagramRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<?>> recieveSequenceDiagramAnswer(DiagramRequestDto requestDto) {
         return processDiagramAnswer(requestDto, "sequenceDiagram", Diagram::getSequenceScriptGpt, Diagram::updateSequenceScriptGpt);
     }
 
     // GPT ER 다이어그램
     // 레포지토리 링크와 함께 질문하여 ER 다이어그램 제작을 위한 플로우차트 답변 받기
-    public ResponseEntity<?> recieveERDiagramAnswer(DiagramRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<?>> recieveERDiagramAnswer(DiagramRequestDto requestDto) {
         return processDiagramAnswer(requestDto, "erDiagram", Diagram::getErdScriptGpt, Diagram::updateErScriptGpt);
     }
 
+    // GPT 다이어그램 스트리밍 (SSE, 토큰이 도착하는 대로 전달하고 끝나면 저장)
+    public SseEmitter streamClassDiagramAnswer(DiagramRequestDto requestDto) {
+        return streamDiagramAnswer(requestDto, "classDiagram", Diagram::getClassScriptGpt, Diagram::updateClassScriptGpt);
+    }
+
+    public SseEmitter streamSequenceDiagramAnswer(DiagramRequestDto requestDto) {
+        return streamDiagramAnswer(requestDto, "sequenceDiagram", Diagram::getSequenceScriptGpt, Diagram::updateSequenceScriptGpt);
+    }
+
+    public SseEmitter streamERDiagramAnswer(DiagramRequestDto requestDto) {
+        return streamDiagramAnswer(requestDto, "erDiagram", Diagram::getErdScriptGpt, Diagram::updateErScriptGpt);
+    }
+
     /**
      * GPT 다이어그램 답변을 처리하는 공통 로직을 포함한 메서드.
      * 다이어그램의 유형과 필드 접근 로직을 파라미터로 받아 처리합니다.
+     * GPT 응답을 기다리는 동안 요청 스레드를 반환하도록 CompletableFuture 로 응답합니다.
      *
      * @param requestDto     다이어그램 요청 DTO
      * @param diagramType    다이어그램 유형 ("classDiagram", "sequenceDiagram", "erDiagram")
      * @param fieldGetter    다이어그램 엔티티에서 GPT 스크립트를 가져오는 함수형 인터페이스
      * @param fieldUpdater   다이어그램 엔티티의 GPT 스크립트를 업데이트하는 함수형 인터페이스
-     * @return ResponseEntity  응답 엔티티
+     * @return CompletableFuture  GPT 응답 후 완료되는 응답 엔티티
      */
-    private ResponseEntity<?> processDiagramAnswer(DiagramRequestDto requestDto, String diagramType,
+    private CompletableFuture<ResponseEntity<?>> processDiagramAnswer(DiagramRequestDto requestDto, String diagramType,
                                                    DiagramFieldGetter fieldGetter, DiagramFieldUpdater fieldUpdater) {
         Long repoId = requestDto.getRepoId();
 
         // repositoryId를 사용하여 Repo 객체를 조회 (DB에서 가져오기)
         Optional<Repo> optionalRepository = repoRepository.findById(repoId);
         if (optionalRepository.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("해당 ID의 레포지토리를 찾을 수 없습니다.");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("해당 ID의 레포지토리를 찾을 수 없습니다."));
         }
 
         Repo repo = optionalRepository.get();
@@ -78,7 +95,8 @@ public class DiagramService {
             String existingScript = fieldGetter.getField(diagram);
             // GPT 스크립트가 이미 존재하는 경우, 이를 반환
             if (existingScript != null && !existingScript.isBlank()) {
-                return ResponseEntity.ok(CustomApiResponse.createSuccess(200, existingScript, "이미 저장된 GPT 스크립트를 반환합니다."));
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.ok(CustomApiResponse.createSuccess(200, existingScript, "이미 저장된 GPT 스크립트를 반환합니다.")));
             }
         } else {
             // Diagram 엔티티가 존재하지 않으면 새로 생성
@@ -86,8 +104,35 @@ public class DiagramService {
         }
 
         // GPT API 호출 및 결과 저장
-        String result = callGptAndSaveDiagram(diagramType, repo.getRepoURL(), diagram, fieldUpdater);
-        return ResponseEntity.ok(CustomApiResponse.createSuccess(200, result, "Open AI API와 성공적으로 통신을 하였습니다."));
+        return callGptAndSaveDiagram(diagramType, repo.getRepoURL(), diagram, fieldUpdater)
+                .thenApply(result -> ResponseEntity.ok(CustomApiResponse.createSuccess(200, result, "Open AI API와 성공적으로 통신을 하였습니다.")));
+    }
+
+    /**
+     * processDiagramAnswer 의 스트리밍 버전.
+     * 이미 저장된 스크립트가 있으면 done 이벤트 하나로, 없으면 GPT 출력을 token 이벤트로 전달한 뒤 저장하고 done 을 보냅니다.
+     *
+     * @return SseEmitter  text/event-stream 응답
+     */
+    private SseEmitter streamDiagramAnswer(DiagramRequestDto requestDto, String diagramType,
+                                           DiagramFieldGetter fieldGetter, DiagramFieldUpdater fieldUpdater) {
+        Optional<Repo> optionalRepository = repoRepository.findById(requestDto.getRepoId());
+        if (optionalRepository.isEmpty()) {
+            return questionService.completedStream("error", CustomApiResponse.createFailWithoutData(404, "해당 ID의 레포지토리를 찾을 수 없습니다."));
+        }
+
+        Repo repo = optionalRepository.get();
+        Diagram diagram = diagramRepository.findByRepoId(repo.getId()).orElseGet(() -> Diagram.builder().repo(repo).build());
+        String existingScript = fieldGetter.getField(diagram);
+        if (existingScript != null && !existingScript.isBlank()) {
+            return questionService.completedStream("done", CustomApiResponse.createSuccess(200, existingScript, "이미 저장된 GPT 스크립트를 반환합니다."));
+        }
+
+        return questionService.streamGptApi(GptFeature.DIAGRAM, diagramRequest(diagramType, repo.getRepoURL()), result -> {
+            fieldUpdater.updateField(diagram, result);
+            diagramRepository.save(diagram);
+            return CustomApiResponse.createSuccess(200, result, "Open AI API와 성공적으로 통신을 하였습니다.");
+        });
     }
 
     /**
@@ -97,9 +142,19 @@ public class DiagramService {
      * @param repoUrl        레포지토리 URL
      * @param diagram        다이어그램 엔티티
      * @param fieldUpdater   다이어그램 엔티티의 필드를 업데이트하는 함수형 인터페이스
-     * @return String        GPT API 호출 결과
+     * @return CompletableFuture  GPT API 호출 결과 (저장까지 끝나면 완료)
      */
-    private String callGptAndSaveDiagram(String diagramType, String repoUrl, Diagram diagram, DiagramFieldUpdater fieldUpdater) {
+    private CompletableFuture<String> callGptAndSaveDiagram(String diagramType, String repoUrl, Diagram diagram, DiagramFieldUpdater fieldUpdater) {
+        // GPT API 호출 (응답이 오면 결과를 Diagram 엔티티에 저장)
+        return questionService.callGptApiAsync(GptFeature.DIAGRAM, diagramRequest(diagramType, repoUrl)).thenApply(result -> {
+            fieldUpdater.updateField(diagram, result);
+            diagramRepository.save(diagram);
+            return result;
+        });
+    }
+
+    // 다이어그램 유형별 GPT 요청 (일반, 스트리밍 공통)
+    private ChatCompletionDto diagramRequest(String diagramType, String repoUrl) {
         // 시스템 메시지 생성
         String systemMessage = generateSystemMessage(diagramType);
         List<ChatRequestMsgDto> messages = List.of(
@@ -108,18 +163,10 @@ public class DiagramService {
         );
 
         // ChatCompletionDto 객체 생성
-        ChatCompletionDto chatCompletionDto = ChatCompletionDto.builder()
+        return ChatCompletionDto.builder()
                 .model("gpt-4o")
                 .messages(messages)
                 .build();
-
-        // GPT API 호출
-        String result = questionService.callGptApi(chatCompletionDto);
-        // 결과를 Diagram 엔티티에 저장
-        fieldUpdater.updateField(diagram, result);
-        diagramRepository.save(diagram);
-
-        return result;
     }
 
     /**
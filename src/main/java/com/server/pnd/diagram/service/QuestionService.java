@@ -3,11 +3,25 @@ package com.server.pnd.diagram.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.server.pnd.gpt.cache.GptCompletionCache;
+import com.server.pnd.gpt.cache.GptFeature;
 import com.server.pnd.gpt.config.ChatGPTConfig;
+import com.server.pnd.gpt.config.GptHttpClientConfig;
+import com.server.pnd.gpt.config.GptRetryConfig;
 import com.server.pnd.gpt.dto.ChatCompletionDto;
+import com.server.pnd.gpt.exception.GptApiException;
+import com.server.pnd.gpt.limit.GptRateLimiter;
+import com.server.pnd.gpt.metrics.GptMetrics;
+import com.server.pnd.gpt.retry.GptRetryPolicy;
+import com.server.pnd.gpt.stream.ChatCompletionStreamSubscriber;
+import com.server.pnd.util.response.CustomApiResponse;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.net.URI;
@@ -15,58 +29,322 @@ import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class QuestionService {
+    private static final int LOGGED_BODY_LENGTH = 500; // 디버그 로그에 남기는 응답 본문 길이
     private final ChatGPTConfig chatGPTConfig;
+    private final GptHttpClientConfig gptHttpClientConfig;
+    private final GptRetryConfig gptRetryConfig;
+    private final HttpClient gptHttpClient; // 모든 GPT 호출이 공유하는 클라이언트 (연결 재사용)
+    private final ThreadPoolTaskExecutor gptHttpExecutor; // 재시도 대기 후 다시 보내는 스레드
+    private final GptMetrics gptMetrics;
+    private final GptCompletionCache gptCompletionCache; // 같은 프롬프트의 응답 재사용
+    private final GptRateLimiter gptRateLimiter; // 분당 요청 수, 토큰 수 한도
+    private final GptRetryPolicy gptRetryPolicy; // 429, 5xx 재시도
     private final ObjectMapper objectMapper; // JSON 데이터를 처리하기 위해 사용되는 Jackson 라이브러리의 ObjectMapper 객체
 
-    // ChatCompletionDto 객체를 받아서, 이를 GPT API에 요청하는 메서드
+    // ChatCompletionDto 객체를 받아서, 이를 GPT API에 요청하는 메서드 (실패하면 GptApiException)
     public String callGptApi(ChatCompletionDto chatCompletionDto) {
         try {
-            HttpClient client = HttpClient.newHttpClient();
-
-            // JSON 요청 본문 생성
-            Map<String, Object> requesetBody = chatCompletionDto.toRequestBody();
-            String requestBodyJson = objectMapper.writeValueAsString(requesetBody); // JSON 형식으로 직렬화
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(new URI(chatGPTConfig.getApiUrl()))
-                    .header("Content-Type", "application/json")
-                    .header("Authorization", "Bearer " + chatGPTConfig.getApiKey())
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBodyJson))
-                    .build();
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            // 응답 형태 확인
-            System.out.println("GPT 응답 상태 코드: " + response.statusCode());
-            System.out.println("GPT 응답 본문: " + response.body());
-
-            if(response.statusCode() == 200) {
-                // 성공적인 응답은 JSON 파싱을 통해 내용을 추출
-                JsonNode jsonNode = objectMapper.readTree(response.body());
-                return jsonNode.path("choices").get(0).path("message").path("content").asText();
-            } else if(response.statusCode() == 400) {
-                // 잘못된 요청에 대한 실패 메시지 반환
-                return "응답 생성에 실패했습니다. 잘못된 요청입니다.";
+            return callGptApiAsync(chatCompletionDto).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // 캐시를 거치는 비동기 호출, 같은 요청이 진행 중이면 그 응답을 같이 기다린다 (실패하면 GptApiException, 캐시하지 않음)
+    public CompletableFuture<String> callGptApiAsync(GptFeature feature, ChatCompletionDto chatCompletionDto) {
+        return gptCompletionCache.get(feature, chatCompletionDto, () -> callGptApiAsync(chatCompletionDto));
+    }
+
+    // 응답을 기다리는 동안 호출한 스레드를 잡아두지 않는 비동기 버전 (응답 처리는 gptHttpExecutor 에서, 200 이 아니면 GptApiException)
+    // 반환한 future 를 취소하면 진행 중인 HTTP 요청이나 요청 한도 대기도 취소된다.
+    private CompletableFuture<String> callGptApiAsync(ChatCompletionDto chatCompletionDto) {
+        HttpRequest request;
+        try {
+            request = buildRequest(chatCompletionDto);
+        } catch (JsonProcessingException | URISyntaxException e) {
+            return CompletableFuture.failedFuture(new RuntimeException(e));
+        }
+
+        CompletableFuture<HttpResponse<String>> sent = sendWithRetry(chatCompletionDto, request, HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<String> parsed = sent.thenApply(this::parseResponse);
+        parsed.whenComplete((content, e) -> {
+            if (parsed.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return parsed;
+    }
+
+    /*
+     * 스트리밍 호출 (stream: true), 토큰이 도착하는 대로 SSE 로 클라이언트에 전달한다.
+     * - event: token  data: {"content": "..."}   (GPT 출력 조각)
+     * - event: done   data: onComplete 가 돌려준 값 (전체 텍스트를 저장한 뒤의 응답 본문)
+     * - event: error  data: CustomApiResponse (실패, 저장하지 않음)
+     * 클라이언트가 먼저 끊어도 GPT 응답은 끝까지 받아 저장한다. (다음 요청에서 저장된 값을 바로 반환)
+     * 스트리밍 호출도 보내기 전에 캐시에 등록한다. 같은 요청의 응답이 캐시에 있거나 (스트리밍이든 아니든) 진행 중이면
+     * GPT 를 부르지 않고 그 결과를 기다렸다가 한 번의 token 이벤트로 보낸다. (같은 요청의 GPT 호출은 한 번)
+     */
+    public SseEmitter streamGptApi(GptFeature feature, ChatCompletionDto chatCompletionDto, Function<String, ?> onComplete) {
+        SseEmitter emitter = new SseEmitter(gptHttpClientConfig.getStreamTimeout().toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+
+        Consumer<String> onToken = token -> sendEvent(emitter, open, "token", Map.of("content", token));
+        AtomicBoolean streaming = new AtomicBoolean(); // 이 요청이 GPT 를 불렀는지 (아니면 캐시 결과를 한 번에 보냄)
+        CompletableFuture<String> completion = gptCompletionCache.get(feature, chatCompletionDto, () -> {
+            streaming.set(true);
+            return callGptApiStreaming(chatCompletionDto, onToken);
+        }).thenApply(text -> {
+            if (!streaming.get()) {
+                onToken.accept(text);
+            }
+            return text;
+        });
+
+        completion.whenComplete((text, e) -> {
+            if (e != null) {
+                Throwable cause = unwrap(e);
+                sendEvent(emitter, open, "error", cause instanceof GptApiException gptApiException
+                        ? CustomApiResponse.createFailWithoutData(gptApiException.getResponseStatus(), gptApiException.getMessage())
+                        : CustomApiResponse.createFailWithoutData(502, "GPT 응답 스트리밍 중 오류가 발생했습니다."));
+            } else {
+                try {
+                    sendEvent(emitter, open, "done", onComplete.apply(text));
+                } catch (RuntimeException saveError) {
+                    sendEvent(emitter, open, "error", CustomApiResponse.createFailWithoutData(500, "GPT 응답 저장 중 오류가 발생했습니다."));
+                }
+            }
+            if (open.get()) {
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    // 이미 저장된 값이 있거나 요청이 잘못된 경우처럼 GPT 를 부르지 않고 바로 끝나는 스트림
+    public SseEmitter completedStream(String eventName, Object payload) {
+        SseEmitter emitter = new SseEmitter(gptHttpClientConfig.getStreamTimeout().toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        sendEvent(emitter, open, eventName, payload);
+        emitter.complete();
+        return emitter;
+    }
+
+    // 토큰마다 onToken 을 부르고 전체 텍스트로 완료되는 스트리밍 호출 (200 이 아니거나 빈 응답이면 GptApiException)
+    public CompletableFuture<String> callGptApiStreaming(ChatCompletionDto chatCompletionDto, Consumer<String> onToken) {
+        HttpRequest request;
+        try {
+            request = buildRequest(chatCompletionDto, true);
+        } catch (JsonProcessingException | URISyntaxException e) {
+            return CompletableFuture.failedFuture(new RuntimeException(e));
+        }
+
+        ChatCompletionStreamSubscriber subscriber = new ChatCompletionStreamSubscriber(objectMapper, onToken);
+        CompletableFuture<String> result = subscriber.result();
+
+        // 200 일 때만 본문을 구독한다 (그 밖의 응답은 버리고 재시도 또는 실패)
+        HttpResponse.BodyHandler<Void> handler = responseInfo -> responseInfo.statusCode() == 200
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(subscriber)
+                : HttpResponse.BodySubscribers.discarding();
+        sendWithRetry(chatCompletionDto, request, handler).whenComplete((response, e) -> {
+            if (e != null) {
+                result.completeExceptionally(unwrap(e));
+            } else if (response.statusCode() != 200) {
+                result.completeExceptionally(errorResponse(response));
+            }
+        });
+        return result.thenApply(QuestionService::requireContent);
+    }
+
+    /*
+     * 요청 한도 대기 → 전송 → 필요하면 재시도, 마지막 응답(200 이 아닐 수 있음)으로 완료된다.
+     * - 429, 5xx, 응답 헤더를 받기 전의 연결 실패는 chatgpt.retry.max-attempts 까지 다시 보낸다
+     *   (대기 시간은 Retry-After 우선, 없으면 지수 백오프 + jitter, 대기 중에는 스레드를 잡아두지 않음)
+     * - 429 의 Retry-After 는 요청 한도 전체를 그 시간 동안 멈춘다 (동시에 보내던 다른 요청도 같이 기다림)
+     * - 한도 대기와 재시도는 chatgpt.retry.deadline-seconds 안에서만, 넘으면 마지막 결과 그대로
+     * 스트리밍은 200 을 받은 뒤에는 다시 보내지 않는다. (이미 클라이언트에 토큰을 보냈으므로)
+     * 반환한 future 를 취소하면 지금 단계의 future 를 취소한다. (요청 한도 대기열에서 빠지고, 보내는 중인 HTTP 요청은 중단, 재시도 안 함)
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendWithRetry(ChatCompletionDto chatCompletionDto, HttpRequest request,
+                                                                 HttpResponse.BodyHandler<T> handler) {
+        long deadline = System.nanoTime() + gptRetryConfig.getDeadline().toNanos();
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> inFlight = new AtomicReference<>(); // 요청 한도 대기 또는 HTTP 요청
+        result.whenComplete((response, e) -> {
+            CompletableFuture<?> current = inFlight.get();
+            if (result.isCancelled() && current != null) {
+                current.cancel(true);
+            }
+        });
+        attempt(chatCompletionDto, request, handler, 1, deadline, result, inFlight).whenComplete((response, e) -> {
+            if (e != null) {
+                result.completeExceptionally(unwrap(e));
             } else {
-                // 기타 오류에 대한 처리
-                return "응답 생성 중 오류가 발생했습니다. 상태 코드: " + response.statusCode();
+                result.complete(response);
             }
+        });
+        return result;
+    }
 
+    private <T> CompletableFuture<HttpResponse<T>> attempt(ChatCompletionDto chatCompletionDto, HttpRequest request,
+                                                           HttpResponse.BodyHandler<T> handler, int attempt, long deadline,
+                                                           CompletableFuture<?> result, AtomicReference<CompletableFuture<?>> inFlight) {
+        if (result.isDone()) {
+            return CompletableFuture.failedFuture(new CancellationException("GPT 요청 취소"));
+        }
+        CompletableFuture<Void> acquire = gptRateLimiter.acquire(chatCompletionDto, deadline);
+        inFlight.set(acquire);
+        if (result.isDone()) {
+            acquire.cancel(true); // set 전에 취소된 경우
+        }
+        return acquire.thenCompose(acquired -> {
+            AtomicInteger status = new AtomicInteger(); // 응답 헤더를 받았는지 (0 이면 받기 전에 실패)
+            HttpResponse.BodyHandler<T> recordingHandler = responseInfo -> {
+                status.set(responseInfo.statusCode());
+                return handler.apply(responseInfo);
+            };
 
+            long startedAt = gptMetrics.start();
+            CompletableFuture<HttpResponse<T>> sent = gptHttpClient.sendAsync(request, recordingHandler);
+            inFlight.set(sent);
+            if (result.isDone()) {
+                sent.cancel(true);
+            }
+            return sent
+                    .handle((response, e) -> {
+                        gptMetrics.finish(startedAt, status.get());
+                        boolean retryable = e != null
+                                ? status.get() == 0 && gptRetryPolicy.isRetryable(e)
+                                : gptRetryPolicy.isRetryable(response.statusCode());
+                        if (!retryable || !gptRetryPolicy.canRetry(attempt) || result.isDone()) {
+                            return finish(response, e);
+                        }
+
+                        Duration delay = gptRetryPolicy.delay(attempt, response);
+                        if (deadline - (System.nanoTime() + delay.toNanos()) < 0) {
+                            return finish(response, e); // 기다리면 마감을 넘으므로 포기
+                        }
+                        if (response != null && response.statusCode() == 429) {
+                            gptRateLimiter.pause(delay);
+                        }
+                        gptMetrics.retry(response != null ? String.valueOf(response.statusCode()) : "io");
+
+                        Executor delayed = CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, gptHttpExecutor);
+                        return CompletableFuture.runAsync(() -> { }, delayed)
+                                .thenCompose(waited -> attempt(chatCompletionDto, request, handler, attempt + 1, deadline, result, inFlight));
+                    })
+                    .thenCompose(Function.identity());
+        });
+    }
+
+    // 재시도하지 않는 결과 (응답을 받지 못한 실패는 GptApiException 으로 바꿔 오류 응답이 되게 한다)
+    private static <T> CompletableFuture<HttpResponse<T>> finish(HttpResponse<T> response, Throwable throwable) {
+        if (throwable == null) {
+            return CompletableFuture.completedFuture(response);
+        }
+        Throwable cause = unwrap(throwable);
+        return CompletableFuture.failedFuture(cause instanceof IOException
+                ? new GptApiException(0, "GPT API 에 연결하지 못했습니다. 잠시 후 다시 시도해 주세요.", null, cause)
+                : cause);
+    }
+
+    // 연결이 끊긴 뒤에는 보내지 않는다 (보내다 실패해도 GPT 응답 수신, 저장은 계속)
+    private static void sendEvent(SseEmitter emitter, AtomicBoolean open, String eventName, Object data) {
+        if (!open.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            open.set(false);
+        }
+    }
+
+    private HttpRequest buildRequest(ChatCompletionDto chatCompletionDto) throws JsonProcessingException, URISyntaxException {
+        return buildRequest(chatCompletionDto, false);
+    }
+
+    private HttpRequest buildRequest(ChatCompletionDto chatCompletionDto, boolean stream) throws JsonProcessingException, URISyntaxException {
+        // JSON 요청 본문 생성
+        Map<String, Object> requesetBody = new LinkedHashMap<>(chatCompletionDto.toRequestBody());
+        if (stream) {
+            requesetBody.put("stream", true); // 토큰 단위 SSE 응답
+        }
+        String requestBodyJson = objectMapper.writeValueAsString(requesetBody); // JSON 형식으로 직렬화
+
+        return HttpRequest.newBuilder()
+                .uri(new URI(chatGPTConfig.getApiUrl()))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + chatGPTConfig.getApiKey())
+                .timeout(gptHttpClientConfig.getRequestTimeout())
+                .POST(HttpRequest.BodyPublishers.ofString(requestBodyJson))
+                .build();
+    }
+
+    // 200 이 아니면 GptApiException (오류 문구가 다이어그램, 리드미 결과로 저장되지 않도록 문자열로 돌려주지 않는다)
+    private String parseResponse(HttpResponse<String> response) {
+        // 응답 형태 확인 (본문은 앞부분만)
+        if (log.isDebugEnabled()) {
+            String body = response.body();
+            log.debug("GPT 응답 상태 코드: {}, 본문: {}", response.statusCode(),
+                    body != null && body.length() > LOGGED_BODY_LENGTH ? body.substring(0, LOGGED_BODY_LENGTH) + "..." : body);
+        }
+
+        if (response.statusCode() != 200) {
+            throw errorResponse(response);
+        }
+        // 성공적인 응답은 JSON 파싱을 통해 내용을 추출
+        try {
+            JsonNode jsonNode = objectMapper.readTree(response.body());
+            return requireContent(jsonNode.path("choices").path(0).path("message").path("content").asText(""));
         } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        } catch (URISyntaxException e) {
-            throw new RuntimeException(e);
+            throw new GptApiException(200, "GPT 응답을 해석하지 못했습니다.", null, e);
         }
     }
+
+    private static GptApiException errorResponse(HttpResponse<?> response) {
+        int statusCode = response.statusCode();
+        Duration retryAfter = GptRetryPolicy.retryAfter(response.headers()).orElse(null);
+        if (statusCode == 400) {
+            // 잘못된 요청
+            return new GptApiException(400, "응답 생성에 실패했습니다. 잘못된 요청입니다.", retryAfter, null);
+        } else if (statusCode == 429) {
+            // 재시도 후에도 한도 초과
+            return new GptApiException(429, "GPT API 요청 한도를 초과했습니다. 잠시 후 다시 시도해 주세요.", retryAfter, null);
+        }
+        // 기타 오류에 대한 처리
+        return new GptApiException(statusCode, "응답 생성 중 오류가 발생했습니다. 상태 코드: " + statusCode, retryAfter, null);
+    }
+
+    private static String requireContent(String content) {
+        if (content == null || content.isBlank()) {
+            throw new GptApiException(200, "GPT 응답이 비어 있습니다.");
+        }
+        return content;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
 }
@@ -0,0 +1,62 @@
+package com.server.pnd.domain;
+
+import com.server.pnd.report.dto.CommitStatDto;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+// 레포지토리 커밋 원장 (레포트를 다시 만들 때 새 커밋만 GitHub 에서 가져오기 위해 보관)
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "COMMIT_STAT",
+        uniqueConstraints = @UniqueConstraint(name = "uk_commit_stat_repo_oid", columnNames = {"repo_id", "oid"}),
+        indexes = @Index(name = "idx_commit_stat_repo_committed_at", columnList = "repo_id, committed_at"))
+public class CommitStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @NotNull
+    @JoinColumn(name = "repo_id")
+    private Repo repo;
+
+    @Column(name = "oid", length = 40)
+    private String oid; // 커밋 해시
+
+    @Column(name = "committed_at")
+    private LocalDateTime committedAt; // 커밋 일시 (UTC)
+
+    private int additions;
+
+    private int deletions;
+
+    @Column(name = "changed_files")
+    private int changedFiles;
+
+    private String author; // 작성자 이름
+
+    public static CommitStat of(Repo repo, CommitStatDto commit) {
+        return CommitStat.builder()
+                .repo(repo)
+                .oid(commit.getOid())
+                .committedAt(OffsetDateTime.parse(commit.getCommittedDate()).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime())
+                .additions(commit.getAdditions())
+                .deletions(commit.getDeletions())
+                .changedFiles(commit.getChangedFiles())
+                .author(commit.getAuthor())
+                .build();
+    }
+
+    public CommitStatDto toDto() {
+        return new CommitStatDto(oid, committedAt.toInstant(ZoneOffset.UTC).toString(), additions, deletions, changedFiles, author);
+    }
+}
@@ -69,6 +69,9 @@ public class Repo{
     @Column(name = "updated_at")
     private String updatedAt; //레포지토리 최종 수정 일시
 
+    @Column(name = "commit_ledger_cursor")
+    private LocalDateTime commitLedgerCursor; // 커밋 원장이 빠짐없이 채워진 마지막 커밋 일시 (끝까지 마친 동기화에서만 갱신)
+
 
     // createdAt을 yyyy.MM.dd 형식으로 변환하여 반환하는 메서드
     public String getFormattedCreatedAt() {
@@ -5,6 +5,12 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
 @Entity
 @Getter @Setter
 @Builder
@@ -22,28 +28,81 @@ public class Report extends BaseEntity {
     @JoinColumn(name = "repo_id")
     private Repo repo;
 
-    @JoinColumn(name = "image_green")
-    private String imageGreen; // 이미지 URL
+    @OneToMany(mappedBy = "report", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position ASC")
+    @Builder.Default
+    private List<ReportVariant> variants = new ArrayList<>(); // 테마별 이미지 (첫 번째가 기본 테마)
+
+    @Column(name = "head_oid")
+    private String headOid; // 레포트를 만들 때의 기본 브랜치 HEAD 커밋
 
-    @JoinColumn(name = "image_season")
-    private String imageSeason; // 이미지 URL
+    @Column(name = "settings_hash")
+    private String settingsHash; // 레포트를 만들 때의 렌더러 설정 해시
 
-    @JoinColumn(name = "image_notth_season")
-    private String imageNorthSeason; // 이미지 URL
+    // 테마 id 목록 (첫 번째가 기본 테마)
+    public List<String> getThemeList() {
+        List<String> themes = new ArrayList<>();
+        for (ReportVariant variant : variants) {
+            themes.add(variant.getTheme());
+        }
+        return themes;
+    }
 
-    @JoinColumn(name = "image_south_season")
-    private String imageSouthSeason; // 이미지 URL
+    // 선택한 테마의 이미지 (없는 테마이거나 지정하지 않으면 기본 테마, 이미지가 없으면 null)
+    public ReportVariant variantFor(String theme) {
+        if (variants.isEmpty()) {
+            return null;
+        }
+        for (ReportVariant variant : variants) {
+            if (variant.getTheme().equals(theme)) {
+                return variant;
+            }
+        }
+        return variants.get(0);
+    }
 
-    @JoinColumn(name = "image_night_view")
-    private String imageNightView; // 이미지 URL
+    // 선택한 테마의 이미지 URL
+    public String imageFor(String theme) {
+        ReportVariant variant = variantFor(theme);
+        return variant != null ? variant.getUrl() : null;
+    }
 
-    @JoinColumn(name = "image_night_green")
-    private String imageNightGreen; // 이미지 URL
+    // 테마 이미지 추가 또는 갱신 (position 순서로 정렬)
+    // byteSize 는 최적화된 SVG, renderedByteSize 는 렌더러 원본, storedByteSize 는 버킷에 저장된(압축된) 크기
+    public void putVariant(String theme, int position, String url, String themeableUrl, long byteSize, long renderedByteSize,
+                           long storedByteSize, String contentHash, Map<String, String> previews) {
+        for (ReportVariant variant : variants) {
+            if (variant.getTheme().equals(theme)) {
+                variant.update(position, url, themeableUrl, byteSize, renderedByteSize, storedByteSize, contentHash, previews);
+                variants.sort(Comparator.comparingInt(ReportVariant::getPosition));
+                return;
+            }
+        }
+        variants.add(ReportVariant.builder()
+                .report(this)
+                .theme(theme)
+                .position(position)
+                .url(url)
+                .themeableUrl(themeableUrl)
+                .byteSize(byteSize)
+                .renderedByteSize(renderedByteSize)
+                .storedByteSize(storedByteSize)
+                .contentHash(contentHash)
+                .previews(previews)
+                .build());
+        variants.sort(Comparator.comparingInt(ReportVariant::getPosition));
+    }
 
-    @JoinColumn(name = "image_night_rainbow")
-    private String imageNightRainbow; // 이미지 URL
+    // 목록에 없는 테마 이미지 삭제
+    public void retainVariants(Collection<String> themes) {
+        variants.removeIf(variant -> !themes.contains(variant.getTheme()));
+    }
 
-    @JoinColumn(name = "image_gitblock")
-    private String imageGitblock; // 이미지 URL
+    // 기본 브랜치와 렌더러 설정이 그대로여서 다시 만들 필요가 없는지 (테마 이미지가 없으면 다시 만든다)
+    public boolean isUpToDate(String headOid, String settingsHash) {
+        return !variants.isEmpty()
+                && this.headOid != null && this.headOid.equals(headOid)
+                && this.settingsHash != null && this.settingsHash.equals(settingsHash);
+    }
 
 }
\ No newline at end of file
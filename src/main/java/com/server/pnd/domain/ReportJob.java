@@ -0,0 +1,112 @@
+package com.server.pnd.domain;
+
+import com.server.pnd.util.entity.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "REPORT_JOB")
+public class ReportJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @NotNull
+    @JoinColumn(name = "repo_id")
+    private Repo repo;
+
+    @ManyToOne
+    @JoinColumn(name = "report_id")
+    private Report report; // 생성 완료된 레포트 (성공 시)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private ReportJobStatus status; // 작업 상태
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stage")
+    private ReportJobStage stage; // 현재 진행 단계
+
+    @Column(name = "progress")
+    private int progress; // 진행률 (0 ~ 100)
+
+    @Column(columnDefinition = "TEXT", name = "error_message")
+    private String errorMessage; // 실패 사유
+
+    @Column(name = "active_repo_id", unique = true)
+    private Long activeRepoId; // 끝나지 않은 작업만 repo id 를 가짐 (레포당 진행 중인 작업은 하나, 여러 서버 간에도 보장)
+
+    // 임대 : 작업을 실행 중인 서버와 만료 시각 (엔티티 저장으로는 바꾸지 않고 ReportJobRepository 의 조건부 UPDATE 로만 갱신)
+    @Column(name = "owner_instance", updatable = false)
+    private String ownerInstance;
+
+    @Column(name = "lease_expires_at", updatable = false)
+    private LocalDateTime leaseExpiresAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "stage_timings")
+    private Map<String, Long> stageTimings; // 단계별 소요 시간 (ms, 예: {"github_fetch": 1200, "render": 800})
+
+    // 작업 접수 (접수한 서버가 임대를 갖는다)
+    public static ReportJob queued(Repo repo, String ownerInstance, LocalDateTime leaseExpiresAt) {
+        return ReportJob.builder()
+                .repo(repo)
+                .activeRepoId(repo.getId())
+                .ownerInstance(ownerInstance)
+                .leaseExpiresAt(leaseExpiresAt)
+                .status(ReportJobStatus.QUEUED)
+                .stage(ReportJobStage.QUEUED)
+                .progress(0)
+                .build();
+    }
+
+    // 진행 단계 갱신
+    public void updateStage(ReportJobStage stage, int progress) {
+        this.status = ReportJobStatus.RUNNING;
+        this.stage = stage;
+        this.progress = progress;
+    }
+
+    // 단계별 소요 시간 기록 (작업이 끝날 때)
+    public void recordStageTimings(Map<String, Long> stageTimings) {
+        this.stageTimings = stageTimings;
+    }
+
+    // 작업 성공
+    public void succeed(Report report) {
+        this.report = report;
+        this.status = ReportJobStatus.SUCCEEDED;
+        this.stage = ReportJobStage.DONE;
+        this.progress = 100;
+        this.errorMessage = null;
+        this.activeRepoId = null;
+    }
+
+    // 작업 실패
+    public void fail(String errorMessage) {
+        this.status = ReportJobStatus.FAILED;
+        this.errorMessage = errorMessage;
+        this.activeRepoId = null;
+    }
+
+    // 임대가 끝났는지 (임대 정보가 없는 이전 작업도 끝난 것으로 본다)
+    public boolean isLeaseExpired(LocalDateTime now) {
+        return leaseExpiresAt == null || leaseExpiresAt.isBefore(now);
+    }
+
+    public boolean isFinished() {
+        return status == ReportJobStatus.SUCCEEDED || status == ReportJobStatus.FAILED;
+    }
+}
@@ -0,0 +1,13 @@
+package com.server.pnd.domain;
+
+// 레포트 생성 작업 진행 단계
+public enum ReportJobStage {
+    QUEUED,                // 대기 중
+    FETCHING_GITHUB,       // GitHub GraphQL 데이터 조회
+    GENERATING_RETROSPECT, // GPT 회고 가이드 생성
+    RENDERING,             // SVG 렌더링
+    PREVIEWING,            // PNG 미리보기 생성
+    UPLOADING,             // S3 업로드
+    SAVING,                // DB 저장
+    DONE                   // 완료
+}
@@ -0,0 +1,9 @@
+package com.server.pnd.domain;
+
+// 레포트 생성 작업 상태
+public enum ReportJobStatus {
+    QUEUED,    // 대기 중
+    RUNNING,   // 진행 중
+    SUCCEEDED, // 성공
+    FAILED     // 실패
+}
@@ -0,0 +1,77 @@
+package com.server.pnd.domain;
+
+import com.server.pnd.util.entity.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Map;
+
+// 레포트의 테마별 이미지 (테마를 추가해도 컬럼이 늘지 않도록 행으로 보관)
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "REPORT_VARIANT",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_variant_report_theme", columnNames = {"report_id", "theme"}))
+public class ReportVariant extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @NotNull
+    @JoinColumn(name = "report_id")
+    private Report report;
+
+    @Column(name = "theme")
+    private String theme; // 테마 id (green, night-view, ...)
+
+    @Column(name = "position")
+    private int position; // 테마 순서 (0 이 기본 테마)
+
+    @Column(name = "url")
+    private String url; // 이 테마로 고정한 이미지 URL (<img>, CSS background 용)
+
+    @Column(name = "themeable_url")
+    private String themeableUrl; // 모든 테마를 담은 SVG 의 URL + #테마id (인라인 SVG 등 :target 을 쓸 수 있는 곳용, 없을 수 있음)
+
+    @Column(name = "byte_size")
+    private long byteSize; // 이미지 크기 (bytes, 최적화 후)
+
+    @Column(name = "rendered_byte_size")
+    private long renderedByteSize; // 렌더러가 만든 원본 크기 (bytes, 최적화 전)
+
+    @Column(name = "stored_byte_size")
+    private long storedByteSize; // 버킷에 저장된 크기 (bytes, gzip 압축 후)
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // 이미지 내용의 SHA-256 (hex)
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "previews")
+    private Map<String, String> previews; // 미리보기 PNG URL (가로 크기 px -> URL, 없으면 비어 있음)
+
+    // 같은 레포트를 다시 만들 때 테마 행을 지우지 않고 갱신 (report_id, theme 유니크 키 유지)
+    void update(int position, String url, String themeableUrl, long byteSize, long renderedByteSize, long storedByteSize,
+                String contentHash, Map<String, String> previews) {
+        this.position = position;
+        this.url = url;
+        this.themeableUrl = themeableUrl;
+        this.byteSize = byteSize;
+        this.renderedByteSize = renderedByteSize;
+        this.storedByteSize = storedByteSize;
+        this.contentHash = contentHash;
+        this.previews = previews;
+    }
+
+    // 조건부 요청용 ETag (이미지 내용과 테마가 같으면 같은 값, 이전 컬럼에서 옮겨 내용 해시가 없으면 URL 기준)
+    public String getETag() {
+        String content = contentHash != null ? contentHash : Integer.toHexString(url.hashCode());
+        return "\"" + content + "-" + theme + "\"";
+    }
+}
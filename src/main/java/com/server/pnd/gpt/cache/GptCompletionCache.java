@@ -0,0 +1,140 @@
+package com.server.pnd.gpt.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.server.pnd.gpt.config.GptCacheConfig;
+import com.server.pnd.gpt.dto.ChatCompletionDto;
+import com.server.pnd.gpt.dto.ChatRequestMsgDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/*
+ * GPT 응답 캐시 (Caffeine, 크기 제한 + 기능별 유지 시간)
+ * - 키 : 기능 + SHA-256(모델, 메시지 역할/내용)
+ * - 같은 키로 동시에 들어온 요청은 진행 중인 호출 하나를 같이 기다린다 (GPT 호출은 한 번, 스트리밍 호출도 같은 항목으로 등록)
+ * - 실패한 호출은 캐시에 남지 않는다 (Caffeine 이 예외로 끝난 future 를 제거)
+ * - 기다리던 호출자가 모두 취소하거나 시간 초과되면 진행 중인 호출도 취소한다 (HTTP 요청 중단, 요청 한도 반납)
+ * 지표 : cache.gets{result=hit|miss}, cache.evictions, cache.eviction.weight, cache.size (cache=gpt.completions)
+ */
+@Component
+public class GptCompletionCache {
+    private static final String CACHE_NAME = "gpt.completions";
+
+    private final GptCacheConfig gptCacheConfig;
+    private final AsyncCache<Key, String> cache;
+    private final Map<CompletableFuture<String>, Integer> waiters = new IdentityHashMap<>(); // 진행 중인 호출별 기다리는 호출자 수
+
+    public GptCompletionCache(GptCacheConfig gptCacheConfig, MeterRegistry meterRegistry) {
+        this.gptCacheConfig = gptCacheConfig;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(gptCacheConfig.getMaxBytes())
+                .weigher((Key key, String value) -> value.length() * 2 + 128) // UTF-16 텍스트 + 키
+                .expireAfter(new FeatureExpiry(gptCacheConfig))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    // 캐시에 있으면 그 값을, 없으면 upstream 을 한 번만 호출해 결과를 담는다
+    // 캐시의 future 는 같은 키를 기다리는 모든 호출자가 공유하므로 복사본을 돌려준다
+    // (호출자의 orTimeout, cancel 이 공유 future 를 끝내 다른 호출자까지 실패시키지 않도록)
+    public CompletableFuture<String> get(GptFeature feature, ChatCompletionDto chatCompletionDto,
+                                         Supplier<CompletableFuture<String>> upstream) {
+        if (!gptCacheConfig.isEnabled()) {
+            return upstream.get();
+        }
+        CompletableFuture<String> shared = cache.get(key(feature, chatCompletionDto), (key, executor) -> upstream.get());
+        CompletableFuture<String> copy = shared.copy();
+        if (shared.isDone()) {
+            return copy;
+        }
+
+        synchronized (waiters) {
+            waiters.merge(shared, 1, Integer::sum);
+        }
+        shared.whenComplete((value, e) -> {
+            synchronized (waiters) {
+                waiters.remove(shared);
+            }
+        });
+        copy.whenComplete((value, e) -> {
+            if (e != null && !shared.isDone()) {
+                leave(shared);
+            }
+        });
+        return copy;
+    }
+
+    // 마지막 호출자가 떠나면 공유 future 를 취소한다 (upstream 이 진행 중인 요청을 중단, 캐시에서도 제거됨)
+    private void leave(CompletableFuture<String> shared) {
+        synchronized (waiters) {
+            Integer count = waiters.get(shared);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                waiters.put(shared, count - 1);
+                return;
+            }
+            waiters.remove(shared);
+        }
+        shared.cancel(true);
+    }
+
+    private static Key key(GptFeature feature, ChatCompletionDto chatCompletionDto) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            var body = chatCompletionDto.toRequestBody();
+            update(digest, String.valueOf(body.get("model")));
+            @SuppressWarnings("unchecked")
+            List<ChatRequestMsgDto> messages = (List<ChatRequestMsgDto>) body.get("messages");
+            for (ChatRequestMsgDto message : messages) {
+                update(digest, message.getRole());
+                update(digest, message.getContent());
+            }
+            return new Key(feature, HexFormat.of().formatHex(digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 길이를 앞에 붙여 필드 경계가 섞이지 않게 한다
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        digest.update((bytes.length + ":").getBytes(StandardCharsets.US_ASCII));
+        digest.update(bytes);
+    }
+
+    private record Key(GptFeature feature, String hash) {
+    }
+
+    // 만들어진(또는 갱신된) 시점부터 기능별 유지 시간, 조회로는 늘어나지 않음
+    private record FeatureExpiry(GptCacheConfig config) implements Expiry<Key, String> {
+        @Override
+        public long expireAfterCreate(Key key, String value, long currentTime) {
+            return config.ttl(key.feature()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, String value, long currentTime, long currentDuration) {
+            return config.ttl(key.feature()).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Key key, String value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.server.pnd.gpt.cache;
+
+// GPT 를 호출하는 기능 (응답 캐시 유지 시간을 기능별로 다르게 둔다)
+public enum GptFeature {
+    DIAGRAM,    // 클래스 / 시퀀스 / ER 다이어그램
+    README,     // 리드미 자동 생성
+    RETROSPECT  // 레포트 회고 가이드
+}
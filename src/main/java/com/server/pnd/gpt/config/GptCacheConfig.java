@@ -0,0 +1,38 @@
+package com.server.pnd.gpt.config;
+
+import com.server.pnd.gpt.cache.GptFeature;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// GPT 응답 캐시 설정 (같은 모델 + 메시지 요청은 유지 시간 동안 다시 보내지 않음)
+
+@Getter
+@Configuration
+public class GptCacheConfig {
+    @Value("${chatgpt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chatgpt.cache.max-bytes:33554432}")
+    private long maxBytes; // 캐시에 담을 응답 텍스트 총량 (대략적인 bytes, 넘으면 W-TinyLFU 로 축출)
+
+    @Value("${chatgpt.cache.ttl-minutes.diagram:1440}")
+    private long diagramTtlMinutes;
+
+    @Value("${chatgpt.cache.ttl-minutes.readme:1440}")
+    private long readmeTtlMinutes;
+
+    @Value("${chatgpt.cache.ttl-minutes.retrospect:360}")
+    private long retrospectTtlMinutes;
+
+    // 기능별 유지 시간
+    public Duration ttl(GptFeature feature) {
+        return Duration.ofMinutes(switch (feature) {
+            case DIAGRAM -> diagramTtlMinutes;
+            case README -> readmeTtlMinutes;
+            case RETROSPECT -> retrospectTtlMinutes;
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.server.pnd.gpt.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+// GPT API 호출용 HttpClient 설정 (모든 GPT 호출이 하나의 클라이언트와 연결을 공유)
+
+@Configuration
+public class GptHttpClientConfig {
+    @Value("${chatgpt.http.connect-timeout-seconds:10}")
+    private long connectTimeoutSeconds; // 연결 제한 시간
+
+    @Value("${chatgpt.http.request-timeout-seconds:90}")
+    private long requestTimeoutSeconds; // 요청 하나의 응답 대기 제한 시간 (응답 헤더까지)
+
+    @Value("${chatgpt.http.stream-timeout-seconds:180}")
+    private long streamTimeoutSeconds; // 스트리밍 응답(SSE) 전체 제한 시간
+
+    @Value("${chatgpt.http.pool-size:4}")
+    private int poolSize; // 응답 처리, 비동기 호출용 스레드 수
+
+    public Duration getRequestTimeout() {
+        return Duration.ofSeconds(requestTimeoutSeconds);
+    }
+
+    public Duration getStreamTimeout() {
+        return Duration.ofSeconds(streamTimeoutSeconds);
+    }
+
+    // HTTP/2 로 api.openai.com 연결 하나를 여러 요청이 같이 쓴다 (HTTP/1.1 서버면 연결을 풀에 보관해 재사용)
+    @Bean(name = "gptHttpClient")
+    public HttpClient gptHttpClient(ThreadPoolTaskExecutor gptHttpExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(gptHttpExecutor)
+                .build();
+    }
+
+    @Bean(name = "gptHttpExecutor")
+    public ThreadPoolTaskExecutor gptHttpExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(Integer.MAX_VALUE); // HttpClient 내부 작업은 거절하면 안 되므로 대기열 제한 없음
+        executor.setThreadNamePrefix("gpt-http-");
+        executor.initialize();
+        // 스레드 풀 지표 (executor.active, executor.queued ... tag name=gpt.http)
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "gpt.http", List.of());
+        return executor;
+    }
+}
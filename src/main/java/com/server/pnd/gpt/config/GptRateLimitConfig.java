@@ -0,0 +1,26 @@
+package com.server.pnd.gpt.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+// GPT 요청 한도 설정 (OpenAI 계정의 분당 요청 수, 분당 토큰 수에 맞춘다)
+
+@Getter
+@Configuration
+public class GptRateLimitConfig {
+    @Value("${chatgpt.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chatgpt.rate-limit.requests-per-minute:500}")
+    private int requestsPerMinute; // RPM
+
+    @Value("${chatgpt.rate-limit.tokens-per-minute:30000}")
+    private int tokensPerMinute; // TPM (프롬프트 + 응답)
+
+    @Value("${chatgpt.rate-limit.completion-tokens:2000}")
+    private int completionTokens; // 요청마다 미리 잡아두는 응답 토큰 수 (max_tokens 를 보내지 않으므로 예상치)
+
+    @Value("${chatgpt.rate-limit.max-waiting:100}")
+    private int maxWaiting; // 한도를 기다릴 수 있는 요청 수 (넘으면 바로 거절)
+}
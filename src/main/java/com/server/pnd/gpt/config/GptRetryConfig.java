@@ -0,0 +1,29 @@
+package com.server.pnd.gpt.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// GPT 요청 재시도 설정 (429, 5xx, 연결 실패)
+
+@Getter
+@Configuration
+public class GptRetryConfig {
+    @Value("${chatgpt.retry.max-attempts:4}")
+    private int maxAttempts; // 첫 요청 포함 최대 시도 횟수
+
+    @Value("${chatgpt.retry.base-delay-millis:500}")
+    private long baseDelayMillis; // 첫 재시도 대기 상한 (시도마다 두 배)
+
+    @Value("${chatgpt.retry.max-delay-millis:20000}")
+    private long maxDelayMillis; // 재시도 한 번의 대기 상한
+
+    @Value("${chatgpt.retry.deadline-seconds:30}")
+    private long deadlineSeconds; // 한도 대기 + 재시도를 합쳐 새 시도를 시작할 수 있는 시간 (마지막 시도의 응답 대기는 별도, request-timeout 과 합쳐 spring.mvc.async.request-timeout 안으로)
+
+    public Duration getDeadline() {
+        return Duration.ofSeconds(deadlineSeconds);
+    }
+}
@@ -0,0 +1,27 @@
+package com.server.pnd.gpt.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// GPT API 호출 실패 (200 이 아닌 응답, 재시도 후에도 연결 실패 등), 결과를 저장하지 않고 오류 응답으로 돌려준다
+@Getter
+public class GptApiException extends RuntimeException {
+    private final int statusCode;     // GPT API 응답 상태 코드 (응답을 받지 못했으면 0)
+    private final Duration retryAfter; // 다시 시도해도 되는 시점까지 남은 시간 (모르면 null)
+
+    public GptApiException(int statusCode, String message) {
+        this(statusCode, message, null, null);
+    }
+
+    public GptApiException(int statusCode, String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    // 우리 API 의 응답 상태 코드 : 한도 초과, GPT 서버 오류, 연결 실패는 503 (잠시 후 재시도), 그 밖의 GPT 오류는 502
+    public int getResponseStatus() {
+        return statusCode == 0 || statusCode == 429 || statusCode >= 500 ? 503 : 502;
+    }
+}
@@ -0,0 +1,11 @@
+package com.server.pnd.gpt.exception;
+
+import java.time.Duration;
+
+// 요청 한도 대기열이 가득 찼거나 마감 시각까지 차례가 오지 않은 경우 (GPT 로 보내지 않음)
+public class GptRateLimitException extends GptApiException {
+
+    public GptRateLimitException(Duration retryAfter) {
+        super(429, "GPT 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", retryAfter, null);
+    }
+}
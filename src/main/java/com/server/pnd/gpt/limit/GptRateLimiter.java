@@ -0,0 +1,260 @@
+package com.server.pnd.gpt.limit;
+
+import com.server.pnd.gpt.config.GptRateLimitConfig;
+import com.server.pnd.gpt.dto.ChatCompletionDto;
+import com.server.pnd.gpt.dto.ChatRequestMsgDto;
+import com.server.pnd.gpt.exception.GptRateLimitException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * OpenAI 요청 한도(분당 요청 수, 분당 토큰 수)에 맞춘 클라이언트 쪽 토큰 버킷
+ * - 버킷 두 개(요청, 토큰)가 분당 한도 속도로 채워지고, 요청 하나는 요청 1 + 예상 토큰(프롬프트 + 응답 예상치)을 쓴다
+ * - 모자라면 도착 순서대로 대기열에서 기다린다 (스레드를 잡아두지 않고 차례가 오면 future 를 완료)
+ * - 대기열이 가득 찼거나 마감 시각까지 차례가 올 수 없으면 GptRateLimitException (GPT 로 보내지 않음)
+ * - 429 의 Retry-After 를 받으면 pause 로 그 시간 동안 새 요청을 모두 멈춘다
+ * 지표 : gpt.ratelimit.waiting (대기 중인 요청 수), gpt.ratelimit.wait (대기 시간), gpt.ratelimit.rejected (거절 수)
+ */
+@Component
+@RequiredArgsConstructor
+public class GptRateLimiter {
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final int MESSAGE_OVERHEAD_BYTES = 16; // 메시지마다 붙는 역할, 구분 토큰
+
+    private final GptRateLimitConfig gptRateLimitConfig;
+    private final MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService scheduler; // 대기열 차례 확인
+    private Timer waitTimer;
+    private Counter rejectedCounter;
+
+    // 아래 상태는 this 로 동기화
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double availableRequests;
+    private double availableTokens;
+    private long refilledAt;
+    private long pausedUntil;
+    private ScheduledFuture<?> scheduledDrain;
+    private long scheduledDrainAt;
+
+    @PostConstruct
+    void init() {
+        availableRequests = gptRateLimitConfig.getRequestsPerMinute();
+        availableTokens = gptRateLimitConfig.getTokensPerMinute();
+        refilledAt = System.nanoTime();
+        pausedUntil = refilledAt;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gpt-rate-limit");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("gpt.ratelimit.waiting", this, GptRateLimiter::waitingCount)
+                .description("요청 한도를 기다리는 GPT 요청 수")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("gpt.ratelimit.wait")
+                .description("GPT 요청 한도 대기 시간")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("gpt.ratelimit.rejected")
+                .description("요청 한도 대기열에서 거절된 GPT 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 한도에서 요청 하나를 꺼낸다.
+     *
+     * @param chatCompletionDto 보낼 요청 (예상 토큰 수 계산용)
+     * @param deadline          이 시각(System.nanoTime 기준)까지 차례가 오지 않으면 거절
+     * @return 차례가 오면 완료되는 future (거절되면 GptRateLimitException 으로 실패)
+     */
+    public CompletableFuture<Void> acquire(ChatCompletionDto chatCompletionDto, long deadline) {
+        if (!gptRateLimitConfig.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long now = System.nanoTime();
+        // 한도보다 큰 요청도 언젠가는 보낼 수 있도록 버킷 크기로 자른다
+        int tokens = Math.min(estimateTokens(chatCompletionDto), gptRateLimitConfig.getTokensPerMinute());
+        Waiter waiter = new Waiter(tokens, deadline, now, new CompletableFuture<>());
+
+        synchronized (this) {
+            refill(now);
+            if (waiters.isEmpty() && tryConsume(tokens, now)) {
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            // 앞에서 기다리는 요청까지 합쳐 마감 전에 차례가 올 수 없으면 기다리지 않고 거절
+            long queuedTokens = tokens;
+            for (Waiter queued : waiters) {
+                queuedTokens += queued.tokens();
+            }
+            long waitNanos = waitNanos(waiters.size() + 1, queuedTokens, now);
+            if (waiters.size() >= gptRateLimitConfig.getMaxWaiting() || deadline - (now + waitNanos) < 0) {
+                rejectedCounter.increment();
+                return CompletableFuture.failedFuture(new GptRateLimitException(Duration.ofNanos(waitNanos)));
+            }
+            waiters.addLast(waiter);
+            scheduleDrain(now, nextDrainAt(now));
+        }
+        return waiter.future();
+    }
+
+    // 다른 요청이 429 + Retry-After 를 받은 경우, 그 시간 동안 새 요청을 보내지 않는다
+    public void pause(Duration duration) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            long until = now + duration.toNanos();
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+        }
+    }
+
+    // 프롬프트는 UTF-8 4 bytes 를 1 토큰으로 어림하고 (한글 한 글자 ≒ 1 토큰), 응답은 설정한 예상치만큼 미리 잡는다
+    private int estimateTokens(ChatCompletionDto chatCompletionDto) {
+        @SuppressWarnings("unchecked")
+        List<ChatRequestMsgDto> messages = (List<ChatRequestMsgDto>) chatCompletionDto.toRequestBody().get("messages");
+        long bytes = 0;
+        for (ChatRequestMsgDto message : messages) {
+            String content = message.getContent();
+            bytes += (content != null ? content.getBytes(StandardCharsets.UTF_8).length : 0) + MESSAGE_OVERHEAD_BYTES;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes / 4 + gptRateLimitConfig.getCompletionTokens());
+    }
+
+    // 차례가 온 요청은 완료하고, 마감이 지난 요청은 거절한다 (future 완료는 락 밖에서)
+    private void drain() {
+        List<Waiter> ready = new ArrayList<>();
+        List<Waiter> expired = new ArrayList<>();
+        List<Duration> expiredRetryAfter = new ArrayList<>();
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            refill(now);
+            Iterator<Waiter> iterator = waiters.iterator();
+            while (iterator.hasNext()) {
+                Waiter waiter = iterator.next();
+                if (waiter.future().isDone()) {
+                    iterator.remove(); // 호출한 쪽에서 취소
+                } else if (waiter.deadline() - now <= 0) {
+                    iterator.remove();
+                    expired.add(waiter);
+                    expiredRetryAfter.add(Duration.ofNanos(waitNanos(1, waiter.tokens(), now)));
+                }
+            }
+            while (!waiters.isEmpty() && tryConsume(waiters.peekFirst().tokens(), now)) {
+                ready.add(waiters.pollFirst());
+            }
+            if (!waiters.isEmpty()) {
+                scheduleDrain(now, nextDrainAt(now));
+            }
+        }
+
+        for (Waiter waiter : ready) {
+            waitTimer.record(now - waiter.enqueuedAt(), TimeUnit.NANOSECONDS);
+            if (!waiter.future().complete(null)) {
+                release(waiter.tokens()); // 차례가 온 사이에 취소됨
+            }
+        }
+        for (int i = 0; i < expired.size(); i++) {
+            rejectedCounter.increment();
+            expired.get(i).future().completeExceptionally(new GptRateLimitException(expiredRetryAfter.get(i)));
+        }
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAt;
+        if (elapsed <= 0) {
+            return;
+        }
+        availableRequests = Math.min(gptRateLimitConfig.getRequestsPerMinute(),
+                availableRequests + elapsed * gptRateLimitConfig.getRequestsPerMinute() / NANOS_PER_MINUTE);
+        availableTokens = Math.min(gptRateLimitConfig.getTokensPerMinute(),
+                availableTokens + elapsed * gptRateLimitConfig.getTokensPerMinute() / NANOS_PER_MINUTE);
+        refilledAt = now;
+    }
+
+    private boolean tryConsume(int tokens, long now) {
+        if (pausedUntil - now > 0 || availableRequests < 1 || availableTokens < tokens) {
+            return false;
+        }
+        availableRequests -= 1;
+        availableTokens -= tokens;
+        return true;
+    }
+
+    // 쓰지 않은 몫을 돌려준다
+    private synchronized void release(int tokens) {
+        availableRequests = Math.min(gptRateLimitConfig.getRequestsPerMinute(), availableRequests + 1);
+        availableTokens = Math.min(gptRateLimitConfig.getTokensPerMinute(), availableTokens + tokens);
+    }
+
+    // requests 개 요청, tokens 개 토큰이 모두 찰 때까지 남은 시간 (멈춘 동안에도 버킷은 채워진다)
+    private long waitNanos(long requests, long tokens, long now) {
+        double requestDeficit = requests - availableRequests;
+        double tokenDeficit = tokens - availableTokens;
+        double refillNanos = Math.max(
+                requestDeficit * NANOS_PER_MINUTE / gptRateLimitConfig.getRequestsPerMinute(),
+                tokenDeficit * NANOS_PER_MINUTE / gptRateLimitConfig.getTokensPerMinute());
+        return Math.max(Math.max(0, pausedUntil - now), (long) Math.ceil(Math.max(0, refillNanos)));
+    }
+
+    // 맨 앞 요청의 차례가 오는 시각과 가장 이른 마감 시각 중 빠른 쪽
+    private long nextDrainAt(long now) {
+        long drainAt = now + waitNanos(1, waiters.peekFirst().tokens(), now);
+        for (Waiter waiter : waiters) {
+            if (waiter.deadline() - drainAt < 0) {
+                drainAt = waiter.deadline();
+            }
+        }
+        return drainAt;
+    }
+
+    // 이미 더 이른 확인이 예약돼 있으면 그대로 둔다
+    private void scheduleDrain(long now, long drainAt) {
+        if (scheduledDrain != null && !scheduledDrain.isDone() && scheduledDrainAt - drainAt <= 0) {
+            return;
+        }
+        if (scheduledDrain != null) {
+            scheduledDrain.cancel(false);
+        }
+        scheduledDrainAt = drainAt;
+        scheduledDrain = scheduler.schedule(() -> {
+            synchronized (this) {
+                scheduledDrain = null; // 실행 중인 자신은 isDone 이 아니므로 비워야 drain 안에서 다시 예약된다
+            }
+            drain();
+        }, Math.max(0, drainAt - now), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized int waitingCount() {
+        return waiters.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Waiter(int tokens, long deadline, long enqueuedAt, CompletableFuture<Void> future) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.server.pnd.gpt.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * GPT API 호출 지표 (Actuator /actuator/prometheus 로 노출)
+ * - gpt.requests        : 요청 하나의 소요 시간 (tag: status = HTTP 상태 코드, 응답이 없으면 error)
+ * - gpt.requests.active : 응답을 기다리는 요청 수
+ * - gpt.retries         : 재시도 수 (tag: reason = 재시도한 HTTP 상태 코드, 응답이 없으면 io)
+ * HttpClient 스레드 풀 지표는 GptHttpClientConfig 에서 executor.* (name=gpt.http) 로 등록한다.
+ */
+@Component
+public class GptMetrics {
+    private static final String REQUEST_TIMER = "gpt.requests";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+
+    public GptMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gpt.requests.active", activeRequests, AtomicInteger::get)
+                .description("응답을 기다리는 GPT 요청 수")
+                .register(meterRegistry);
+    }
+
+    // 요청 시작 (System.nanoTime 반환, 끝나면 finish 로 넘긴다)
+    public long start() {
+        activeRequests.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    // status 가 0 이하면 응답을 받지 못한 요청 (연결 실패, 시간 초과)
+    public void finish(long startedAt, int status) {
+        activeRequests.decrementAndGet();
+        Timer.builder(REQUEST_TIMER)
+                .description("GPT API 요청 소요 시간")
+                .tag("status", status > 0 ? String.valueOf(status) : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    // 재시도 한 번 (reason : 상태 코드 또는 io)
+    public void retry(String reason) {
+        Counter.builder("gpt.retries")
+                .description("GPT API 재시도 수")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
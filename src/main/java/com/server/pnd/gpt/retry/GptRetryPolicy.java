@@ -0,0 +1,83 @@
+package com.server.pnd.gpt.retry;
+
+import com.server.pnd.gpt.config.GptRetryConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * GPT 요청 재시도 판단과 대기 시간 계산
+ * - 재시도 대상 : 429 (한도 초과), 500 / 502 / 503 / 504, 응답을 받기 전의 연결 실패, 시간 초과
+ * - 대기 시간 : 응답의 retry-after-ms 또는 Retry-After(초, HTTP 날짜)를 따르고,
+ *   없으면 지수 백오프 + full jitter (0 ~ min(max-delay, base-delay * 2^(시도 - 1)) 중 무작위)
+ */
+@Component
+@RequiredArgsConstructor
+public class GptRetryPolicy {
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 500, 502, 503, 504);
+
+    private final GptRetryConfig gptRetryConfig;
+
+    public boolean canRetry(int attempt) {
+        return attempt < gptRetryConfig.getMaxAttempts();
+    }
+
+    public boolean isRetryable(int statusCode) {
+        return RETRYABLE_STATUS.contains(statusCode);
+    }
+
+    // 응답 없이 실패한 경우 (IOException : 연결 실패, HttpTimeoutException 등)
+    public boolean isRetryable(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        return cause instanceof IOException;
+    }
+
+    // attempt 번째 시도가 실패한 뒤 기다릴 시간
+    public Duration delay(int attempt, HttpResponse<?> response) {
+        return Optional.ofNullable(response)
+                .flatMap(r -> retryAfter(r.headers()))
+                .orElseGet(() -> backoff(attempt));
+    }
+
+    private Duration backoff(int attempt) {
+        long cap = Math.min(gptRetryConfig.getMaxDelayMillis(),
+                gptRetryConfig.getBaseDelayMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    // OpenAI 는 retry-after-ms 를 먼저 보낸다, 표준 Retry-After 는 초 또는 HTTP 날짜
+    public static Optional<Duration> retryAfter(HttpHeaders headers) {
+        Optional<String> millis = headers.firstValue("retry-after-ms");
+        if (millis.isPresent()) {
+            try {
+                return Optional.of(Duration.ofMillis(Math.max(0, (long) Double.parseDouble(millis.get().trim()))));
+            } catch (NumberFormatException ignored) {
+                // Retry-After 로 넘어간다
+            }
+        }
+        return headers.firstValue("retry-after").flatMap(value -> {
+            try {
+                return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+            } catch (NumberFormatException notSeconds) {
+                try {
+                    Duration until = Duration.between(ZonedDateTime.now(),
+                            ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                    return Optional.of(until.isNegative() ? Duration.ZERO : until);
+                } catch (DateTimeParseException notDate) {
+                    return Optional.empty();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.server.pnd.gpt.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/*
+ * stream: true 로 요청한 chat completions 응답(SSE)을 줄 단위로 받아 토큰을 넘긴다.
+ * - 'data: {...}' 줄의 choices[0].delta.content 를 onToken 으로 전달하고 전체 텍스트를 모은다
+ * - 'data: [DONE]' 또는 본문이 끝나면 모은 텍스트로 result 를 완료한다
+ * - result 를 취소하면 (클라이언트 연결 종료 등) 남은 응답 수신을 멈춘다
+ * HttpResponse.BodySubscribers.fromLineSubscriber 에 넘겨 쓰며, 줄은 도착하는 대로 HttpClient 스레드에서 처리된다.
+ */
+public class ChatCompletionStreamSubscriber implements Flow.Subscriber<String> {
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<String> onToken;
+    private final StringBuilder text = new StringBuilder();
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+
+    public ChatCompletionStreamSubscriber(ObjectMapper objectMapper, Consumer<String> onToken) {
+        this.objectMapper = objectMapper;
+        this.onToken = onToken;
+    }
+
+    // 전체 텍스트 (스트림이 끝나면 완료)
+    public CompletableFuture<String> result() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        result.whenComplete((text, e) -> {
+            if (result.isCancelled()) {
+                subscription.cancel();
+            }
+        });
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (result.isDone() || !line.startsWith(DATA_PREFIX)) {
+            return; // 빈 줄, 주석(:), event: 줄은 무시
+        }
+        String data = line.substring(DATA_PREFIX.length()).trim();
+        if (data.equals(DONE)) {
+            result.complete(text.toString());
+            return;
+        }
+        try {
+            JsonNode choice = objectMapper.readTree(data).path("choices").path(0);
+            String token = choice.path("delta").path("content").asText("");
+            if (!token.isEmpty()) {
+                text.append(token);
+                onToken.accept(token);
+            }
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        result.complete(text.toString());
+    }
+}
@@ -6,8 +6,12 @@ import com.server.pnd.readme.service.ReadmeService;
 import com.server.pnd.util.response.CustomApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -28,12 +32,18 @@ public class ReadmeController {
         return readmeService.searchReadme(repoId);
     }
 
-    // 리드미 자동생성
+    // 리드미 자동생성 (GPT 응답을 기다리는 동안 요청 스레드를 반환)
     @PatchMapping("/{repo_id}")
-    public ResponseEntity<CustomApiResponse<?>> generateReadmeWithGpt(@PathVariable("repo_id") Long repoId) {
+    public CompletableFuture<ResponseEntity<CustomApiResponse<?>>> generateReadmeWithGpt(@PathVariable("repo_id") Long repoId) {
         return readmeService.generateReadmeWithGpt(repoId);
     }
 
+    // 리드미 자동생성 스트리밍 (text/event-stream, event: token -> done | error)
+    @PatchMapping(value = "/{repo_id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReadmeWithGpt(@PathVariable("repo_id") Long repoId) {
+        return readmeService.streamReadmeWithGpt(repoId);
+    }
+
     // 리드미 수정
     @PatchMapping()
     public ResponseEntity<CustomApiResponse<?>> editReadme(
@@ -4,6 +4,9 @@ import com.server.pnd.readme.dto.ReadmeEditRequestDto;
 import com.server.pnd.readme.dto.ReadmeSavedRequestDto;
 import com.server.pnd.util.response.CustomApiResponse;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface ReadmeService {
 
@@ -14,7 +17,10 @@ public interface ReadmeService {
     ResponseEntity<CustomApiResponse<?>> searchReadme(Long readmeId);
 
     // 리드미 자동 생성
-    ResponseEntity<CustomApiResponse<?>> generateReadmeWithGpt(Long repoId);
+    CompletableFuture<ResponseEntity<CustomApiResponse<?>>> generateReadmeWithGpt(Long repoId);
+
+    // 리드미 자동 생성 (SSE 스트리밍)
+    SseEmitter streamReadmeWithGpt(Long repoId);
 
     // 리드미 수정
     ResponseEntity<CustomApiResponse<?>> editReadme(ReadmeEditRequestDto readmeEditRequestDto);
@@ -3,6 +3,7 @@ package com.server.pnd.readme.service;
 import com.server.pnd.diagram.service.QuestionService;
 import com.server.pnd.domain.Readme;
 import com.server.pnd.domain.Repo;
+import com.server.pnd.gpt.cache.GptFeature;
 import com.server.pnd.gpt.dto.ChatCompletionDto;
 import com.server.pnd.gpt.dto.ChatRequestMsgDto;
 import com.server.pnd.readme.dto.*;
@@ -13,9 +14,11 @@ import com.server.pnd.util.response.CustomApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -103,13 +106,13 @@ public class ReadmeServiceImpl implements ReadmeService{
 
     // 리드미 자동 생성
     @Override
-    public ResponseEntity<CustomApiResponse<?>> generateReadmeWithGpt(Long repoId) {
+    public CompletableFuture<ResponseEntity<CustomApiResponse<?>>> generateReadmeWithGpt(Long repoId) {
         Optional<Repo> foundRepo = repoRepository.findById(repoId);
 
         // 해당 Repo ID의 Repo가 DB에 없는 경우 : 404
         if(foundRepo.isEmpty()) {
             CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 Id의 레포가 존재하지 않습니다.");
-            return ResponseEntity.status(404).body(res);
+            return CompletableFuture.completedFuture(ResponseEntity.status(404).body(res));
         }
         Repo repo = foundRepo.get();
 
@@ -124,13 +127,67 @@ public class ReadmeServiceImpl implements ReadmeService{
                 ReadmeAutoCreateResponseDto data = ReadmeAutoCreateResponseDto.builder()
                         .readme_script_gpt(existingScript)
                         .build();
-                return ResponseEntity.ok(CustomApiResponse.createSuccess(200, data, "이미 저장된 GPT 스크립트를 반환합니다."));
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.ok(CustomApiResponse.createSuccess(200, data, "이미 저장된 GPT 스크립트를 반환합니다.")));
             }
         } else {
             // Readme 엔티티가 존재하지 않으면 새로 생성
             readme = Readme.builder().repo(repo).build();
         }
 
+        ChatCompletionDto chatCompletionDto = readmeRequest(repoId, repo);
+
+        // GPT API 호출 및 결과 저장 (응답을 기다리는 동안 요청 스레드를 잡아두지 않음)
+        Readme target = readme;
+        return questionService.callGptApiAsync(GptFeature.README, chatCompletionDto).thenApply(result -> {
+            // 결과를 Readme 엔티티에 저장
+            target.setReadmeScriptGpt(result);
+            readmeRepository.save(target);
+
+            ReadmeAutoCreateResponseDto data = ReadmeAutoCreateResponseDto.builder()
+                    .readme_script_gpt(result)
+                    .build();
+
+            CustomApiResponse<?> res = CustomApiResponse.createSuccess(200, data, "리드미 자동 생성이 완료되었습니다.");
+            return ResponseEntity.status(200).body(res);
+        });
+    }
+
+    // 리드미 자동 생성 (스트리밍, 토큰이 도착하는 대로 SSE 로 전달하고 끝나면 저장)
+    @Override
+    public SseEmitter streamReadmeWithGpt(Long repoId) {
+        Optional<Repo> foundRepo = repoRepository.findById(repoId);
+
+        // 해당 Repo ID의 Repo가 DB에 없는 경우 : 404
+        if(foundRepo.isEmpty()) {
+            return questionService.completedStream("error", CustomApiResponse.createFailWithoutData(404, "해당 Id의 레포가 존재하지 않습니다."));
+        }
+        Repo repo = foundRepo.get();
+
+        Readme readme = readmeRepository.findByRepo(repo).orElseGet(() -> Readme.builder().repo(repo).build());
+        String existingScript = readme.getReadme_script_gpt();
+        // readme_script_gpt가 이미 존재하는 경우, 이를 한 번에 반환
+        if(existingScript != null && !existingScript.isBlank()) {
+            ReadmeAutoCreateResponseDto data = ReadmeAutoCreateResponseDto.builder()
+                    .readme_script_gpt(existingScript)
+                    .build();
+            return questionService.completedStream("done", CustomApiResponse.createSuccess(200, data, "이미 저장된 GPT 스크립트를 반환합니다."));
+        }
+
+        return questionService.streamGptApi(GptFeature.README, readmeRequest(repoId, repo), result -> {
+            // 모은 전체 결과를 Readme 엔티티에 저장
+            readme.setReadmeScriptGpt(result);
+            readmeRepository.save(readme);
+
+            ReadmeAutoCreateResponseDto data = ReadmeAutoCreateResponseDto.builder()
+                    .readme_script_gpt(result)
+                    .build();
+            return CustomApiResponse.createSuccess(200, data, "리드미 자동 생성이 완료되었습니다.");
+        });
+    }
+
+    // 리드미 자동 생성 GPT 요청 (일반, 스트리밍 공통)
+    private ChatCompletionDto readmeRequest(Long repoId, Repo repo) {
         // 리드미 자동 생성 요청 GPT 프롬프트
         String prompt = "내가 제공하는 링크로 접속하여 깃 레파지토리내의 모든 디렉토리 및 코드를 확인해줘. 프로젝트를 전체적으로 설명할 수 있도록 리드미 코드 형태로 생성해줘. 혹시 레포지토리 타이틀이 길어 잘리게 된다면, 폰트 크기는 알아서 조절해줘. 템플릿은 예시 그대로 적용하고 내용만 바꿔주면 돼. 별다른 설명할 필요 없이 예시로 제공하는 것처럼 **마크다운 문법**을 사용하여 제공해줘. tech stack은 해당 링크의 레포지토리에서 사용한 언어와 개발 환경에 맞게 변경해야 해. 마크다운 문법으로 된 코드도 해당 레포지토리에서 사용된 언어만 존재하도록 바꿔야 해. 코드는 다음 블로그를 참조하여 선택해줘.(https://velog.io/@cha-suyeon/github-%EA%B9%83%ED%97%88%EB%B8%8C-%EB%A6%AC%EB%93%9C%EB%AF%B8%EC%97%90%EC%84%9C-%EB%B1%83%EC%A7%80-%EB%A7%8C%EB%93%A4%EA%B8%B0) 설명 또한 마찬가지야. 프로젝트 구조 또한 제공되는 링크에 맞게 유동적으로 변경해야 해. \n" +
                 "작성하는 리드미의 모든 내용은 **직접** 링크를 타고 들어가서 내용 확인하고 레포지토리에 맞게 **마크다운 문법**으로 작성해줘. Project Structure에서 구조는 하위항목이 없는 경우 하나로 묶어서 main/java/com 이런식으로 표기해 줘. " +
@@ -358,23 +415,10 @@ public class ReadmeServiceImpl implements ReadmeService{
         );
 
         // ChatCompletionDto 객체 생성
-        ChatCompletionDto chatCompletionDto = ChatCompletionDto.builder()
+        return ChatCompletionDto.builder()
                 .model("gpt-4o")
                 .messages(messages)
                 .build();
-
-        // GPT API 호출 및 결과 저장
-        String result = questionService.callGptApi(chatCompletionDto);
-        // 결과를 Readme 엔티티에 저장
-        readme.setReadmeScriptGpt(result);
-        readmeRepository.save(readme);
-
-        ReadmeAutoCreateResponseDto data = ReadmeAutoCreateResponseDto.builder()
-                .readme_script_gpt(result)
-                .build();
-
-        CustomApiResponse<?> res = CustomApiResponse.createSuccess(200, data, "리드미 자동 생성이 완료되었습니다.");
-        return ResponseEntity.status(200).body(res);
     }
 
     // 리드미 수정
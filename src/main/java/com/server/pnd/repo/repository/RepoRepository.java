@@ -2,16 +2,29 @@ package com.server.pnd.repo.repository;
 
 import com.server.pnd.domain.Repo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RepoRepository extends JpaRepository<Repo, Long> {
     List<Repo> findByUserId(Long id);
 
+    // 커밋 원장 동기화 커서 (다른 스레드가 읽은 엔티티를 거치지 않고 직접 조회, 갱신)
+    @Query("SELECT r.commitLedgerCursor FROM Repo r WHERE r.id = :repoId")
+    Optional<LocalDateTime> findCommitLedgerCursor(@Param("repoId") Long repoId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Repo r SET r.commitLedgerCursor = :cursor WHERE r.id = :repoId")
+    int updateCommitLedgerCursor(@Param("repoId") Long repoId, @Param("cursor") LocalDateTime cursor);
+
     // UserId로 생성된 문서가 하나라도 있는 Repo들 리턴
     @Query("SELECT r FROM Repo r " +
             "WHERE r.user.id = :userId " +
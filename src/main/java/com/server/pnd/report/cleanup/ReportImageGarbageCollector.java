@@ -0,0 +1,101 @@
+package com.server.pnd.report.cleanup;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.server.pnd.domain.ReportVariant;
+import com.server.pnd.report.config.ReportImageGcConfig;
+import com.server.pnd.report.repository.ReportVariantRepository;
+import com.server.pnd.s3.service.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+ * 참조 없는 레포트 이미지 정리
+ * 레포트 이미지는 내용 주소 기반이라 여러 레포트가 같은 객체를 공유하므로 업로드 실패, 레포트 갱신 시점에 바로 지우지 않는다.
+ * 대신 하루 한 번 REPORT_VARIANT 의 이미지, 미리보기 URL 이 가리키지 않는 객체 중 유예 기간보다 오래된 것만 지운다.
+ * - 재사용되는 객체는 S3Service 가 유예 기간 안에 다시 올려 수정 시각을 갱신하므로 지워지지 않는다
+ * - 목록과 참조 스냅샷 사이에 다시 올라오거나 참조된 객체가 있을 수 있으므로, 지우기 직전에 HEAD 로 수정 시각을,
+ *   DB 로 참조를 다시 확인한다 (S3Service 가 오래된 객체를 다시 올리면 수정 시각이 갱신됨)
+ * - 여러 인스턴스가 동시에 실행해도 같은 객체를 지울 뿐이다 (삭제는 멱등)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportImageGarbageCollector {
+    private static final int PAGE_SIZE = 500;
+
+    private final ReportImageGcConfig reportImageGcConfig;
+    private final ReportVariantRepository reportVariantRepository;
+    private final S3Service s3Service;
+
+    @Scheduled(cron = "${report.image-gc.cron:0 30 4 * * *}")
+    public void collect() {
+        if (!reportImageGcConfig.isEnabled()) {
+            return;
+        }
+        // 목록을 먼저 받고 참조를 나중에 읽는다 (목록 이후에 생긴 참조도 반영되도록)
+        List<S3ObjectSummary> objects = s3Service.listReportImages();
+        Set<String> referenced = referencedKeys();
+        long cutoff = System.currentTimeMillis() - reportImageGcConfig.getGrace().toMillis();
+
+        int deleted = 0;
+        for (S3ObjectSummary object : objects) {
+            if (referenced.contains(object.getKey()) || object.getLastModified().getTime() > cutoff) {
+                continue;
+            }
+            try {
+                if (!stillUnreferenced(object.getKey(), cutoff)) {
+                    continue;
+                }
+                s3Service.deleteReportImage(object.getKey());
+                deleted++;
+            } catch (Exception e) {
+                log.warn("참조 없는 레포트 이미지 삭제 실패: {}", object.getKey(), e);
+            }
+        }
+        log.info("레포트 이미지 정리: 전체 {}개, 참조 {}개, 삭제 {}개", objects.size(), referenced.size(), deleted);
+    }
+
+    // 지우기 직전 확인 : 그 사이 다시 올라오지 않았고 (수정 시각) 새로 참조되지 않았는지 (DB)
+    private boolean stillUnreferenced(String key, long cutoff) {
+        Optional<Date> lastModified = s3Service.reportImageLastModified(key);
+        if (lastModified.isEmpty() || lastModified.get().getTime() > cutoff) {
+            return false;
+        }
+        return reportVariantRepository.countReferencing("%" + key + "%") == 0;
+    }
+
+    private Set<String> referencedKeys() {
+        Set<String> keys = new HashSet<>();
+        Page<ReportVariant> page;
+        int pageNumber = 0;
+        do {
+            page = reportVariantRepository.findAll(PageRequest.of(pageNumber++, PAGE_SIZE, Sort.by("id")));
+            for (ReportVariant variant : page) {
+                addKey(keys, variant.getUrl());
+                addKey(keys, variant.getThemeableUrl());
+                if (variant.getPreviews() != null) {
+                    variant.getPreviews().values().forEach(url -> addKey(keys, url));
+                }
+            }
+        } while (page.hasNext());
+        return keys;
+    }
+
+    private static void addKey(Set<String> keys, String url) {
+        String key = S3Service.reportImageKey(url);
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.server.pnd.report.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadPoolExecutor;
+
+// GitHub 커밋 이력 조회(GraphQL 페이지네이션) 설정
+
+@Configuration
+public class GitHubHistoryConfig {
+    private static final int MAX_PAGE_SIZE = 100; // GitHub GraphQL 이 허용하는 한 페이지 최대 크기
+
+    @Value("${report.github.page-size:100}")
+    private int pageSize; // 한 번에 요청할 커밋 수
+
+    @Value("${report.github.max-commits:10000}")
+    private int maxCommits; // 레포트 하나에 사용할 최대 커밋 수 (초과분은 잘라냄)
+
+    @Value("${report.github.since-days:0}")
+    private int sinceDays; // 최근 N일 커밋만 조회 (0 이하이면 전체 기간)
+
+    @Value("${report.github.ledger-overlap-days:7}")
+    private int ledgerOverlapDays; // 워터마크보다 이만큼 앞에서부터 다시 조회 (늦게 병합된 커밋 보정)
+
+    @Value("${report.github.fetch-pool-size:4}")
+    private int fetchPoolSize; // 동시에 진행할 GitHub 요청 수 (다음 페이지 미리 요청 포함)
+
+    public int getPageSize() {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+
+    public int getMaxCommits() {
+        return maxCommits;
+    }
+
+    public int getSinceDays() {
+        return sinceDays;
+    }
+
+    // 레포트에 사용할 가장 오래된 커밋 일시 (UTC), 제한이 없으면 null
+    public LocalDateTime getSinceBound() {
+        if (sinceDays <= 0) {
+            return null;
+        }
+        return LocalDateTime.now(ZoneOffset.UTC).minusDays(sinceDays).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    public int getLedgerOverlapDays() {
+        return Math.max(0, ledgerOverlapDays);
+    }
+
+    // GitHub 요청 전용 스레드 풀
+    @Bean(name = "githubFetchExecutor")
+    public ThreadPoolTaskExecutor githubFetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fetchPoolSize);
+        executor.setMaxPoolSize(fetchPoolSize);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("github-fetch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy()); // 대기열이 차면 호출 스레드에서 요청
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,54 @@
+package com.server.pnd.report.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+// 레포트 미리보기(PNG 썸네일) 설정
+
+@Configuration
+public class PreviewConfig {
+    @Value("${report.preview.enabled:true}")
+    private boolean enabled; // 미리보기 생성 여부
+
+    @Value("${report.preview.widths:320,640}")
+    private int[] widths; // 미리보기 가로 크기 (px, 세로는 SVG 비율을 따름)
+
+    @Value("${report.preview.pool-size:0}")
+    private int poolSize; // 동시에 래스터화할 테마 수 (0 이하이면 CPU 코어 수)
+
+    public boolean isEnabled() {
+        return enabled && widths.length > 0;
+    }
+
+    // 큰 것부터 (가장 큰 크기로 한 번 그리고 나머지는 줄여서 만든다)
+    public List<Integer> getWidths() {
+        List<Integer> sorted = new ArrayList<>();
+        for (int width : widths) {
+            if (width > 0 && !sorted.contains(width)) {
+                sorted.add(width);
+            }
+        }
+        sorted.sort((a, b) -> b - a);
+        return sorted;
+    }
+
+    // 테마별 래스터화 전용 스레드 풀 (CPU 작업)
+    @Bean(name = "reportPreviewExecutor")
+    public ThreadPoolTaskExecutor reportPreviewExecutor() {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("report-preview-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy()); // 대기열이 차면 작업 스레드에서 직접 처리
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,89 @@
+package com.server.pnd.report.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+// 레포트 렌더 워커(Node.js) 풀 설정을 관리하는 클래스
+
+@Configuration
+public class RenderConfig {
+    @Value("${report.render.pool-size:0}")
+    private int poolSize; // 0 이하이면 CPU 코어 수 사용
+
+    @Value("${report.render.max-jobs-per-worker:50}")
+    private int maxJobsPerWorker; // 워커 하나가 처리할 최대 작업 수 (초과 시 재시작)
+
+    @Value("${report.render.max-rss-mb:512}")
+    private long maxRssMb; // 워커 메모리 상한 (초과 시 재시작)
+
+    @Value("${report.render.timeout-seconds:60}")
+    private long timeoutSeconds; // 렌더 작업 하나의 제한 시간 (초과 시 워커 강제 종료)
+
+    @Value("${report.render.runtime:bundle}")
+    private String runtime; // bundle: 빌드된 번들을 node 로 실행, ts-node: 소스를 실행할 때 트랜스파일
+
+    @Value("${report.render.compile-cache-dir:}")
+    private String compileCacheDir; // V8 컴파일 캐시 디렉터리 (비우면 사용 안 함, Node 22.1 이상)
+
+    @Value("${report.render.bundle-path:}")
+    private String bundlePath; // 렌더 워커 번들 경로 (비우면 OS 별 기본 경로)
+
+    public int getPoolSize() {
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getMaxJobsPerWorker() {
+        return maxJobsPerWorker;
+    }
+
+    public long getMaxRssBytes() {
+        return maxRssMb * 1024 * 1024;
+    }
+
+    public long getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public boolean isBundleRuntime() {
+        return "bundle".equalsIgnoreCase(runtime);
+    }
+
+    public String getCompileCacheDir() {
+        return compileCacheDir;
+    }
+
+    // OS 별 렌더 워커 번들 경로 (./gradlew buildRenderer 결과물)
+    public String getBundlePath() {
+        if (bundlePath != null && !bundlePath.isBlank()) {
+            return bundlePath;
+        }
+        String os = System.getProperty("os.name").toLowerCase();
+
+        if (os.contains("win")) {
+            // Windows path
+            return "./build/renderer/index.js";
+        } else if (os.contains("mac")) {
+            // macOS path
+            return "/Users/gimhyejin/Library/CloudStorage/OneDrive-한성대학교/문서/Projects/PND-Server/build/renderer/index.js";
+        } else {
+            // Deploy path for EC2 (Linux)
+            return "../../build/renderer/index.js";
+        }
+    }
+
+    // OS 별 렌더 워커 스크립트 경로
+    public String getWorkerScriptPath() {
+        String os = System.getProperty("os.name").toLowerCase();
+
+        if (os.contains("win")) {
+            // Windows path
+            return "./src/main/resources/scripts/3d-contrib/src/worker.ts";
+        } else if (os.contains("mac")) {
+            // macOS path
+            return "/Users/gimhyejin/Library/CloudStorage/OneDrive-한성대학교/문서/Projects/PND-Server/src/main/resources/scripts/3d-contrib/src/worker.ts";
+        } else {
+            // Deploy path for EC2 (Linux)
+            return "../../src/main/resources/scripts/3d-contrib/src/worker.ts";
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.server.pnd.report.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// 참조 없는 레포트 이미지(S3) 정리 설정
+
+@Getter
+@Configuration
+public class ReportImageGcConfig {
+    @Value("${report.image-gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.image-gc.grace-days:7}")
+    private long graceDays; // 이보다 오래된 객체만 지운다 (cloud.aws.s3.report-refresh-after-days 보다 길어야 함)
+
+    public Duration getGrace() {
+        return Duration.ofDays(graceDays);
+    }
+}
@@ -0,0 +1,92 @@
+package com.server.pnd.report.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+// 레포트 생성 작업을 처리하는 스레드 풀 설정
+
+@Configuration
+public class ReportJobConfig {
+    @Value("${report.job.pool-size:2}")
+    private int poolSize; // 동시에 진행할 레포트 생성 작업 수
+
+    @Value("${report.job.queue-capacity:50}")
+    private int queueCapacity; // 대기열 크기 (초과 시 작업 거절)
+
+    @Value("${report.job.io-pool-size:0}")
+    private int ioPoolSize; // GitHub 조회용 스레드 수 (0 이하이면 작업 수 x 2, GPT 는 비동기 HttpClient 로 호출)
+
+    @Value("${report.job.github-timeout-seconds:60}")
+    private long githubTimeoutSeconds; // GitHub 데이터 조회 제한 시간
+
+    @Value("${report.job.gpt-timeout-seconds:90}")
+    private long gptTimeoutSeconds; // GPT 회고 가이드 생성 제한 시간
+
+    @Value("${report.job.lease-seconds:60}")
+    private long leaseSeconds; // 작업 임대 기간 (실행 중인 서버가 heartbeat 로 연장, 끝나면 다른 서버가 가져갈 수 있음)
+
+    @Value("${report.job.instance-id:}")
+    private String instanceId; // 이 서버의 작업 소유자 id (비어 있으면 호스트 이름 + 임의 값, 재시작하면 바뀜)
+
+    @PostConstruct
+    void init() {
+        if (instanceId == null || instanceId.isBlank()) {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                host = "unknown";
+            }
+            instanceId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    public long getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public long getGithubTimeoutSeconds() {
+        return githubTimeoutSeconds;
+    }
+
+    public long getGptTimeoutSeconds() {
+        return gptTimeoutSeconds;
+    }
+
+    @Bean(name = "reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false); // 끝나지 않은 작업은 재시작 시 다시 실행
+        executor.initialize();
+        return executor;
+    }
+
+    // 레포트 작업의 GitHub 조회를 GPT 호출과 동시에 진행하는 I/O 스레드 풀
+    // 가득 차면 거절한다 (AbortPolicy, ReportGenerator 가 거절 수를 기록하고 직접 처리)
+    @Bean(name = "reportIoExecutor")
+    public ThreadPoolTaskExecutor reportIoExecutor() {
+        int size = ioPoolSize > 0 ? ioPoolSize : poolSize * 2;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(size * 2);
+        executor.setThreadNamePrefix("report-io-");
+        executor.initialize();
+        return executor;
+    }
+}
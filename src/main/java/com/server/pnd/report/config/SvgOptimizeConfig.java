@@ -0,0 +1,17 @@
+package com.server.pnd.report.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+// 렌더링된 레포트 SVG 최적화 설정
+
+@Getter
+@Configuration
+public class SvgOptimizeConfig {
+    @Value("${report.optimize.enabled:true}")
+    private boolean enabled; // 업로드 전에 SVG 를 줄일지 여부
+
+    @Value("${report.optimize.precision:2}")
+    private int precision; // 좌표, 크기 값의 소수점 자릿수 (렌더러가 그리는 1920x1080 기준 0.01px)
+}
@@ -3,11 +3,11 @@ package com.server.pnd.report.controller;
 import com.server.pnd.report.service.ReportService;
 import com.server.pnd.util.response.CustomApiResponse;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -15,19 +15,29 @@ import java.io.IOException;
 public class ReportController {
     final private ReportService reportService;
 
-    // 리포트 생성
-    @SneakyThrows
+    // 리포트 생성 (작업 접수 : 202, 변경 사항 없음 : 200)
     @PostMapping("/{repo_id}")
     public ResponseEntity<CustomApiResponse<?>> createReport(
-            @PathVariable("repo_id") Long repoId) {
-        return reportService.createReport(repoId);
+            @PathVariable("repo_id") Long repoId,
+            @RequestParam(value = "force", defaultValue = "false") boolean force) {
+        return reportService.createReport(repoId, force);
     }
 
-    // 리포트 상세조회
+    // 리포트 생성 작업 상태 조회
+    @GetMapping("/jobs/{job_id}")
+    public ResponseEntity<CustomApiResponse<?>> searchJob(
+            @PathVariable("job_id") Long jobId) {
+        return reportService.searchJob(jobId);
+    }
+
+    // 리포트 상세조회 (themes=green,night-view 로 일부 테마만, If-None-Match 로 조건부 조회)
     @GetMapping("/{repo_id}")
     public ResponseEntity<CustomApiResponse<?>> searchDetail(
-            @PathVariable("repo_id") Long repoId){
-        return reportService.searchDetail(repoId);
+            @PathVariable("repo_id") Long repoId,
+            @RequestParam(value = "theme", required = false) String theme,
+            @RequestParam(value = "themes", required = false) List<String> themes,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return reportService.searchDetail(repoId, theme, themes, ifNoneMatch);
     }
 
 }
@@ -0,0 +1,14 @@
+package com.server.pnd.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 작성자별 커밋 통계
+@Getter
+@AllArgsConstructor
+public class AuthorStatDto {
+    private String name;
+    private int commits;
+    private long additions;
+    private long deletions;
+}
@@ -0,0 +1,16 @@
+package com.server.pnd.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 커밋 하나의 통계 (GraphQL history edge 의 node)
+@Getter
+@AllArgsConstructor
+public class CommitStatDto {
+    private String oid; // 커밋 해시
+    private String committedDate; // ISO-8601
+    private int additions;
+    private int deletions;
+    private int changedFiles;
+    private String author; // 작성자 이름
+}
@@ -4,11 +4,16 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Builder
 public class CreateReportResponseDto {
     private Long id; // 리포트 고유 ID
     private String repoTitle; //레포트 제목은 없음. 레포의 제목
+    private String image; // 기본 테마 이미지 URL (image#테마id 로 다른 테마 선택)
+    private List<String> themes; // 선택 가능한 테마 id (첫 번째가 기본 테마)
+    private List<ReportVariantDto> variants; // 테마별 이미지
     private String imageGreen; // 이미지 URL
     private String imageSeason; // 이미지 URL
     private String imageNorthSeason; // 이미지 URL
@@ -0,0 +1,13 @@
+package com.server.pnd.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 레포지토리 사용 언어
+@Getter
+@AllArgsConstructor
+public class GitHubLanguageDto {
+    private String name;
+    private String color; // 언어 색상 (없으면 null)
+    private long size; // 해당 언어로 작성된 코드의 양 (bytes)
+}
@@ -0,0 +1,22 @@
+package com.server.pnd.report.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// GitHub 레포지토리 정보 (커밋 이력은 포함하지 않고 consumer 로 흘려보냄)
+@Getter
+@Setter
+public class GitHubRepositoryDto {
+    private String name;
+    private int forkCount;
+    private int stargazerCount;
+    private GitHubLanguageDto primaryLanguage; // 주 사용 언어 (size 는 0, 없으면 null)
+    private List<GitHubLanguageDto> languages = new ArrayList<>();
+    private String defaultBranchName;
+    private String headOid; // 기본 브랜치 HEAD 커밋
+    private int fetchedCommits; // consumer 로 넘긴 커밋 수
+    private boolean truncated; // max-commits 에 걸려 페이지 조회를 멈췄는지 (조회 실패, 취소는 예외로 끝나므로 여기에 해당하지 않음)
+}
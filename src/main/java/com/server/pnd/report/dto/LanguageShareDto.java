@@ -0,0 +1,14 @@
+package com.server.pnd.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 언어별 코드 양과 비율
+@Getter
+@AllArgsConstructor
+public class LanguageShareDto {
+    private String name;
+    private String color; // 언어 색상 (없으면 null)
+    private long size; // 해당 언어로 작성된 코드의 양 (bytes)
+    private double share; // 전체 코드 중 비율 (0 ~ 1)
+}
@@ -0,0 +1,16 @@
+package com.server.pnd.report.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+// 렌더 워커에 전달하는 작업 (JSON 프레임으로 직렬화)
+@Getter
+@Setter
+@Builder
+public class RenderJobDto {
+    private long id; // 워커 풀에서 부여하는 작업 번호
+    private RepositorySummaryDto summary; // Java 에서 미리 집계한 레포지토리 요약
+    private String username;
+    private String retrospect; // GPT 회고 가이드 HTML
+}
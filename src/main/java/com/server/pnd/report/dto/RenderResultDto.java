@@ -0,0 +1,27 @@
+package com.server.pnd.report.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// 렌더 워커가 돌려주는 작업 결과 (JSON 프레임에서 역직렬화)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RenderResultDto {
+    private long id; // 요청한 작업 번호
+    private boolean ok; // 렌더링 성공 여부
+    private List<String> files; // 생성된 SVG 파일 이름 (모든 테마를 담은 테마 선택형 SVG)
+    private ThemeManifestDto manifest; // SVG 에 담긴 테마 목록
+    private String error; // 실패 사유
+    private long rss; // 작업 직후 워커 메모리 사용량 (bytes)
+
+    @JsonIgnore
+    private long spawnMs; // 유휴 워커가 없어 새 워커를 띄우느라 기다린 시간 (ms)
+
+    @JsonIgnore
+    private List<RenderedSvgDto> svgs; // 헤더 뒤에 이어지는 SVG 바이트 프레임 (files 순서)
+}
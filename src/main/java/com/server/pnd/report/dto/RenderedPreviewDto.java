@@ -0,0 +1,14 @@
+package com.server.pnd.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 테마 하나의 미리보기 PNG (가로 크기별)
+@Getter
+@AllArgsConstructor
+public class RenderedPreviewDto {
+    private String theme; // 테마 id
+    private int width; // 가로 크기 (px)
+    private int height; // 세로 크기 (px)
+    private byte[] content; // PNG 바이트
+}
@@ -0,0 +1,12 @@
+package com.server.pnd.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 렌더 워커가 stdout 으로 보낸 SVG 한 장 (파일 이름 + 바이트)
+@Getter
+@AllArgsConstructor
+public class RenderedSvgDto {
+    private String fileName;
+    private byte[] content;
+}
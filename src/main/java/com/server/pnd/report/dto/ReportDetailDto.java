@@ -5,18 +5,19 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+import java.util.Map;
+
 @Getter
 @Builder
 public class ReportDetailDto {
     private Long id;
     private String repoTitle;
     private String createdAt;
-    private String imageGreen; // 이미지 URL
-    private String imageSeason; // 이미지 URL
-    private String imageSouthSeason; // 이미지 URL
-    private String imageNightView; // 이미지 URL
-    private String imageNightGreen; // 이미지 URL
-    private String imageNightRainbow; // 이미지 URL
-    private String imageGitblock; // 이미지 URL
+    private String image; // 선택한 테마의 이미지 URL (테마 조각 포함)
+    private String theme; // 선택된 테마 id
+    private Map<String, String> previews; // 선택한 테마의 미리보기 PNG URL (가로 크기 px -> URL, 목록 화면용)
+    private List<String> themes; // 선택 가능한 테마 id (첫 번째가 기본 테마)
+    private List<ReportVariantDto> variants; // 테마별 이미지 (요청한 테마만, 지정하지 않으면 전체)
 
 }
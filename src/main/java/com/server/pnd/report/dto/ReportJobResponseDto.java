@@ -0,0 +1,19 @@
+package com.server.pnd.report.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+public class ReportJobResponseDto {
+    private Long jobId; // 레포트 생성 작업 ID
+    private Long repoId;
+    private String status; // QUEUED, RUNNING, SUCCEEDED, FAILED
+    private String stage; // 현재 진행 단계
+    private int progress; // 진행률 (0 ~ 100)
+    private String errorMessage; // 실패 사유
+    private Map<String, Long> stageTimings; // 단계별 소요 시간 (ms, 작업이 끝난 뒤)
+    private CreateReportResponseDto result; // 생성된 레포트 (성공 시)
+}
@@ -0,0 +1,23 @@
+package com.server.pnd.report.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+// 레포트의 테마별 이미지
+@Getter
+@Builder
+public class ReportVariantDto {
+    private String theme; // 테마 id
+    private String url; // 이 테마로 고정한 이미지 URL (<img> 용)
+    private String themeableUrl; // 모든 테마를 담은 SVG URL + #테마id (인라인 SVG 용, 없을 수 있음)
+    private long byteSize; // 이미지 크기 (bytes, 최적화 후)
+    private long renderedByteSize; // 렌더러 원본 크기 (bytes)
+    private long storedByteSize; // 전송되는 크기 (bytes, gzip 압축 후)
+    private long savedBytes; // 원본 대비 줄어든 전송 크기 (bytes)
+    private String contentHash; // 이미지 내용의 SHA-256
+    private String etag; // 테마 이미지의 ETag (내용이 바뀌면 달라짐)
+    private Map<String, String> previews; // 미리보기 PNG URL (가로 크기 px -> URL)
+    private String createdAt; // 생성일자
+}
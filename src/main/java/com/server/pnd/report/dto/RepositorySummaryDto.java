@@ -0,0 +1,36 @@
+package com.server.pnd.report.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+ * 렌더러에 넘기는 레포지토리 요약 (schemaVersion 1)
+ * 커밋 목록 대신 Java 에서 미리 집계한 값만 보낸다. TypeScript 쪽 정의는 type.ts 의 RepositorySummary.
+ * - days / dayCounts / dayLevels : 커밋이 있는 날짜별 기여 (같은 인덱스끼리 한 날짜, 날짜 오름차순)
+ *   days 는 epoch day (1970-01-01 부터의 일 수, UTC), dayCounts 는 additions - deletions 합,
+ *   dayLevels 는 그날 커밋 중 가장 높은 기여 레벨 (changedFiles 기준 0 ~ 4)
+ * - commitsByHour : 시간대(UTC 0 ~ 23시)별 커밋 수, 길이 24
+ * - authors : 작성자별 커밋 수와 추가/삭제 줄 수 (커밋 수 내림차순)
+ * - languages : 언어별 코드 양과 비율 (코드 양 내림차순)
+ */
+@Getter
+@Builder
+public class RepositorySummaryDto {
+    public static final int SCHEMA_VERSION = 1;
+
+    private int schemaVersion;
+    private String name;
+    private int forkCount;
+    private int stargazerCount;
+    private GitHubLanguageDto primaryLanguage; // 없으면 null
+    private List<LanguageShareDto> languages;
+    private long[] days;
+    private long[] dayCounts;
+    private int[] dayLevels;
+    private int[] commitsByHour;
+    private List<AuthorStatDto> authors;
+    private long totalContributions; // 전체 additions - deletions 합
+    private int totalCommits;
+}
@@ -0,0 +1,26 @@
+package com.server.pnd.report.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// 테마 선택형 SVG 에 담긴 테마 목록 (렌더 워커 응답 헤더의 manifest)
+// 테마는 SVG URL 조각으로 고른다. (report.svg#night-view, 조각이 없으면 defaultTheme)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ThemeManifestDto {
+    private int schemaVersion;
+    private String defaultTheme; // 기본 테마 id
+    private List<Theme> themes; // 테마 목록 (REPORT_VARIANT.position 순서)
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Theme {
+        private String id; // 테마 id (URL 조각)
+        private String type; // 색상 종류 (normal, season, rainbow, bitmap)
+    }
+}
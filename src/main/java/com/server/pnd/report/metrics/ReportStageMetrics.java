@@ -0,0 +1,118 @@
+package com.server.pnd.report.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * 레포트 생성 단계별 지표 (Actuator /actuator/prometheus 로 노출)
+ * - report.stage   : 단계별 소요 시간 타이머 (tag: stage, outcome)
+ * - report.jobs    : 끝난 레포트 생성 작업 수 (tag: outcome)
+ * - report.asset.bytes : 레포트 SVG 크기 (tag: phase = rendered, optimized, stored)
+ * - report.io.rejected : I/O 스레드 풀이 가득 차 시작하지 못하고 실패한 GitHub 조회 수
+ * outcome 은 success, failure, timeout, cancelled 중 하나.
+ * timings 를 넘기면 작업 하나의 단계별 소요 시간(ms)도 같이 남긴다. (ReportJob.stageTimings)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportStageMetrics {
+    // 단계 이름
+    public static final String GITHUB_FETCH = "github_fetch"; // GraphQL 조회 + 커밋 원장 반영
+    public static final String AGGREGATE = "aggregate"; // 커밋 원장 -> 렌더러용 요약
+    public static final String GPT_RETROSPECT = "gpt_retrospect";
+    public static final String PROCESS_SPAWN = "process_spawn"; // 렌더 워커 프로세스 시작
+    public static final String RENDER = "render"; // 대기열 + 렌더 워커 실행
+    public static final String SVG_OPTIMIZE = "svg_optimize"; // SVG 최적화 (반올림, 기본값 속성 제거)
+    public static final String PREVIEW = "preview"; // PNG 미리보기 래스터화
+    public static final String S3_UPLOAD = "s3_upload";
+    public static final String DB_UPSERT = "db_upsert";
+    public static final String TOTAL = "total";
+
+    private static final String STAGE_TIMER = "report.stage";
+    private static final String JOB_COUNTER = "report.jobs";
+    private static final String ASSET_SIZE = "report.asset.bytes";
+    private static final String IO_REJECTED = "report.io.rejected";
+
+    private final MeterRegistry meterRegistry;
+
+    // 작업 실행 후 소요 시간 기록 (예외는 그대로 던진다)
+    public <T> T time(String stage, Map<String, Long> timings, Callable<T> task) throws Exception {
+        long startedAt = System.nanoTime();
+        try {
+            T result = task.call();
+            record(stage, startedAt, null, timings);
+            return result;
+        } catch (Exception e) {
+            record(stage, startedAt, e, timings);
+            throw e;
+        }
+    }
+
+    // startedAt(System.nanoTime) 부터 지금까지를 기록, error 가 있으면 실패로 기록
+    public void record(String stage, long startedAt, Throwable error, Map<String, Long> timings) {
+        long elapsedNanos = System.nanoTime() - startedAt;
+        Timer.builder(STAGE_TIMER)
+                .description("레포트 생성 단계별 소요 시간")
+                .tag("stage", stage)
+                .tag("outcome", outcome(error))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (timings != null) {
+            timings.put(stage, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    // 끝난 작업 수
+    public void countJob(Throwable error) {
+        Counter.builder(JOB_COUNTER)
+                .description("끝난 레포트 생성 작업 수")
+                .tag("outcome", outcome(error))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // I/O 스레드 풀이 작업을 거절한 횟수
+    public void countIoRejected() {
+        Counter.builder(IO_REJECTED)
+                .description("I/O 스레드 풀이 가득 차 시작하지 못하고 실패한 GitHub 조회 수")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // 레포트 SVG 크기 (렌더러 원본, 최적화 후, 저장된 크기)
+    public void recordAssetSize(String phase, long bytes) {
+        DistributionSummary.builder(ASSET_SIZE)
+                .description("레포트 SVG 크기")
+                .baseUnit("bytes")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    // 원인 사슬에 시간 초과나 취소가 있으면 그쪽으로 분류 (ReportGenerator.await 가 감싼 예외 포함)
+    private static String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return "timeout";
+            }
+            if (cause instanceof CancellationException || cause instanceof InterruptedException) {
+                return "cancelled";
+            }
+        }
+        return "failure";
+    }
+}
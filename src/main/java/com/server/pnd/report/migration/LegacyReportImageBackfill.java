@@ -0,0 +1,167 @@
+package com.server.pnd.report.migration;
+
+import com.server.pnd.domain.Report;
+import com.server.pnd.report.repository.ReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * 이전 REPORT 이미지 컬럼 -> REPORT_VARIANT 옮기기 (한 번만 필요한 작업)
+ * Report 엔티티에서 image_* / image / themes 컬럼을 뺐지만 ddl-auto=update 는 컬럼을 지우지 않으므로 값은 DB 에 남아 있다.
+ * 서버 기동 시 테마 이미지가 하나도 없는 레포트에 한해 남아 있는 값으로 테마 이미지를 만든다.
+ * - 이미 옮긴 레포트, 새로 만든 레포트는 건너뛰므로 여러 번, 여러 서버에서 실행해도 결과는 같다
+ * - 옮긴 레포트는 head_oid 가 없어 다음 요청 때 다시 만들어지고, 그 전까지는 이전 이미지를 보여준다
+ * - 옮긴 이미지도 REPORT_VARIANT 가 가리키므로 ReportImageGarbageCollector 가 지우지 않는다
+ * 로그에 "옮길 레포트 없음" 이 남은 뒤에 이전 컬럼을 지운다 (컬럼이 없으면 아무것도 하지 않음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyReportImageBackfill {
+    private static final String REPORT_TABLE = "REPORT";
+
+    // 이전 테마별 컬럼 -> 테마 id (render-report.ts themes() 순서, 첫 번째가 기본 테마)
+    // image_north_season 은 엔티티에 image_notth_season 으로 적혀 있었으므로 두 이름 모두 확인
+    private static final Map<String, List<String>> LEGACY_THEME_COLUMNS = legacyThemeColumns();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ReportRepository reportRepository;
+
+    @Value("${report.legacy-image-backfill.enabled:true}")
+    private boolean enabled;
+
+    private static Map<String, List<String>> legacyThemeColumns() {
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        columns.put("green", List.of("image_green"));
+        columns.put("season-animate", List.of("image_season"));
+        columns.put("north-season-animate", List.of("image_north_season", "image_notth_season"));
+        columns.put("south-season-animate", List.of("image_south_season"));
+        columns.put("night-view", List.of("image_night_view"));
+        columns.put("night-green", List.of("image_night_green"));
+        columns.put("night-rainbow", List.of("image_night_rainbow"));
+        columns.put("gitblock", List.of("image_gitblock"));
+        return columns;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> columns = reportColumns();
+        List<String> legacyColumns = new ArrayList<>();
+        LEGACY_THEME_COLUMNS.values().forEach(names -> names.stream().filter(columns::contains).forEach(legacyColumns::add));
+        boolean hasThemeable = columns.contains("image") && columns.contains("themes");
+        if (legacyColumns.isEmpty() && !hasThemeable) {
+            return;
+        }
+
+        // 테마 이미지가 하나도 없는 레포트만
+        List<String> selected = new ArrayList<>(legacyColumns);
+        if (hasThemeable) {
+            selected.add("image");
+            selected.add("themes");
+        }
+        String sql = "SELECT r.id, r." + String.join(", r.", selected) + " FROM " + REPORT_TABLE + " r " +
+                "WHERE NOT EXISTS (SELECT 1 FROM REPORT_VARIANT v WHERE v.report_id = r.id)";
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int migrated = 0;
+        for (Map<String, Object> found : rows) {
+            Map<String, Object> row = lowerCaseKeys(found);
+            Map<String, String> images = legacyImages(row);
+            if (images.isEmpty()) {
+                continue;
+            }
+            Long reportId = ((Number) row.get("id")).longValue();
+            try {
+                Boolean done = transaction.execute(status -> reportRepository.findById(reportId)
+                        .filter(report -> report.getVariants().isEmpty())
+                        .map(report -> putVariants(report, images))
+                        .orElse(false));
+                if (Boolean.TRUE.equals(done)) {
+                    migrated++;
+                }
+            } catch (DataIntegrityViolationException e) {
+                // 다른 서버가 먼저 옮긴 경우
+            }
+        }
+        if (migrated == 0) {
+            log.info("이전 레포트 이미지 컬럼: 옮길 레포트 없음 (컬럼 {} 삭제 가능)", selected);
+        } else {
+            log.info("이전 레포트 이미지 컬럼에서 {}개 레포트의 테마 이미지를 옮김", migrated);
+        }
+    }
+
+    // 테마 id -> 이미지 URL (테마 선택형 SVG 가 있으면 그 URL + #테마id, 없으면 테마별 컬럼)
+    private static Map<String, String> legacyImages(Map<String, Object> row) {
+        Map<String, String> images = new LinkedHashMap<>();
+        String image = (String) row.get("image");
+        String themes = (String) row.get("themes");
+        if (image != null && !image.isBlank() && themes != null && !themes.isBlank()) {
+            for (String theme : themes.split(",")) {
+                if (!theme.isBlank()) {
+                    images.put(theme.trim(), image + "#" + theme.trim());
+                }
+            }
+            return images;
+        }
+        LEGACY_THEME_COLUMNS.forEach((theme, names) -> names.stream()
+                .map(name -> (String) row.get(name))
+                .filter(url -> url != null && !url.isBlank())
+                .findFirst()
+                .ifPresent(url -> images.put(theme, url)));
+        return images;
+    }
+
+    // 크기, 내용 해시는 알 수 없으므로 비워 둔다 (다시 만들면 채워짐)
+    private static boolean putVariants(Report report, Map<String, String> images) {
+        int position = 0;
+        for (Map.Entry<String, String> image : images.entrySet()) {
+            report.putVariant(image.getKey(), position++, image.getValue(), null, 0, 0, 0, null, Map.of());
+        }
+        return true;
+    }
+
+    private Set<String> reportColumns() {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Set<String> columns = new HashSet<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : List.of(REPORT_TABLE, REPORT_TABLE.toLowerCase(Locale.ROOT))) {
+                try (ResultSet resultSet = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                    while (resultSet.next()) {
+                        columns.add(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return columns;
+        });
+    }
+
+    private static Map<String, Object> lowerCaseKeys(Map<String, Object> row) {
+        Map<String, Object> lower = new LinkedHashMap<>();
+        row.forEach((key, value) -> lower.put(key.toLowerCase(Locale.ROOT), value));
+        return lower;
+    }
+}
@@ -0,0 +1,229 @@
+package com.server.pnd.report.optimize;
+
+import com.server.pnd.report.config.SvgOptimizeConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * 렌더러(d3 + jsdom)가 만든 SVG 를 업로드 전에 줄인다. 그려지는 모습은 바뀌지 않는 변환만 한다.
+ * - 좌표, 크기, 경로, transform, 애니메이션 values 의 소수점 자릿수를 precision 으로 반올림
+ * - 기본값과 같은 속성 제거 (rect 등의 x="0" y="0", opacity="1", 애니메이션의 repeatCount="1")
+ * - <style> 여러 개를 첫 번째 하나로 합치고 CSS, style 속성의 공백 제거
+ * - 주석, 요소 사이의 공백 텍스트 제거 (text, title, foreignObject 안쪽은 그대로 둔다)
+ * 테마 선택에 쓰는 '#테마id:target ~ *' 규칙은 형제 순서에 의존하므로 요소 순서는 바꾸지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SvgOptimizer {
+    private static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+    private static final Pattern DECIMAL = Pattern.compile("-?\\d*\\.\\d+(?:[eE][-+]?\\d+)?");
+
+    // 숫자를 반올림해도 되는 속성 (viewBox, id, class, href 등은 건드리지 않음)
+    private static final Set<String> NUMERIC_ATTRIBUTES = Set.of(
+            "x", "y", "x1", "y1", "x2", "y2", "cx", "cy", "r", "rx", "ry", "dx", "dy",
+            "width", "height", "d", "points", "transform", "values", "from", "to", "by", "stroke-width");
+    // x, y 기본값이 0 인 요소 (tspan 은 x 가 없으면 이어 쓰기, filter/mask 는 -10% 라 제외)
+    private static final Set<String> ZERO_ORIGIN_ELEMENTS = Set.of("rect", "image", "use", "foreignObject", "pattern");
+    private static final Set<String> ANIMATION_ELEMENTS = Set.of(
+            "animate", "animateTransform", "animateMotion", "animateColor", "set");
+    // 안쪽 공백이 의미 있는 요소
+    private static final Set<String> PRESERVE_WHITESPACE = Set.of("text", "tspan", "title", "desc", "style", "foreignObject");
+
+    private final SvgOptimizeConfig svgOptimizeConfig;
+
+    public byte[] optimize(byte[] svg) {
+        try {
+            Document document = parse(svg);
+            Element root = document.getDocumentElement();
+            mergeStyles(document);
+            optimizeElement(root);
+            return serialize(document);
+        } catch (Exception e) {
+            throw new IllegalStateException("SVG 최적화 실패", e);
+        }
+    }
+
+    private static Document parse(byte[] svg) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        return builder.parse(new InputSource(new ByteArrayInputStream(svg)));
+    }
+
+    private static byte[] serialize(Document document) throws Exception {
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.setOutputProperty(OutputKeys.INDENT, "no");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transformer.transform(new DOMSource(document), new StreamResult(out));
+        return out.toByteArray();
+    }
+
+    // 모든 <style> 내용을 문서 순서대로 첫 번째 <style> 에 모은다 (규칙 순서가 같으므로 캐스케이드 결과도 같음)
+    private static void mergeStyles(Document document) {
+        NodeList nodes = document.getElementsByTagNameNS(SVG_NAMESPACE, "style");
+        List<Element> styles = new ArrayList<>();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            styles.add((Element) nodes.item(i));
+        }
+        if (styles.isEmpty()) {
+            return;
+        }
+
+        StringBuilder css = new StringBuilder();
+        for (Element style : styles) {
+            String minified = minifyCss(style.getTextContent());
+            if (!minified.isEmpty()) {
+                css.append(minified);
+            }
+        }
+        styles.get(0).setTextContent(css.toString());
+        for (int i = 1; i < styles.size(); i++) {
+            styles.get(i).getParentNode().removeChild(styles.get(i));
+        }
+    }
+
+    private void optimizeElement(Element element) {
+        String name = element.getLocalName();
+        optimizeAttributes(element, name);
+
+        if (name.equals("foreignObject")) {
+            return; // HTML 내용은 그대로
+        }
+        boolean preserveWhitespace = PRESERVE_WHITESPACE.contains(name);
+        Node child = element.getFirstChild();
+        while (child != null) {
+            Node next = child.getNextSibling();
+            if (child.getNodeType() == Node.COMMENT_NODE) {
+                element.removeChild(child);
+            } else if (child.getNodeType() == Node.TEXT_NODE && !preserveWhitespace && child.getTextContent().isBlank()) {
+                element.removeChild(child);
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                optimizeElement((Element) child);
+            }
+            child = next;
+        }
+    }
+
+    private void optimizeAttributes(Element element, String name) {
+        NamedNodeMap attributes = element.getAttributes();
+        List<Attr> removed = new ArrayList<>();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            if (attribute.getNamespaceURI() != null) {
+                continue; // xmlns, xlink:href 등
+            }
+            String attributeName = attribute.getName();
+            String value = attribute.getValue();
+
+            if (NUMERIC_ATTRIBUTES.contains(attributeName)) {
+                value = roundNumbers(value);
+            } else if (attributeName.equals("style")) {
+                value = minifyCss(value);
+            }
+
+            if (isDefault(name, attributeName, value)) {
+                removed.add(attribute);
+            } else if (!value.equals(attribute.getValue())) {
+                attribute.setValue(value);
+            }
+        }
+        for (Attr attribute : removed) {
+            element.removeAttributeNode(attribute);
+        }
+    }
+
+    private static boolean isDefault(String element, String attribute, String value) {
+        return switch (attribute) {
+            case "x", "y" -> ZERO_ORIGIN_ELEMENTS.contains(element) && value.equals("0");
+            case "opacity" -> value.equals("1"); // 상속되지 않는 속성만 (fill-opacity 등은 부모 값을 덮어쓰므로 유지)
+            case "repeatCount" -> ANIMATION_ELEMENTS.contains(element) && value.equals("1");
+            case "style" -> value.isEmpty();
+            default -> false;
+        };
+    }
+
+    // 소수점 자릿수가 precision 보다 긴 숫자만 반올림 (정수, 짧은 값은 그대로)
+    private String roundNumbers(String value) {
+        int precision = svgOptimizeConfig.getPrecision();
+        Matcher matcher = DECIMAL.matcher(value);
+        StringBuilder rounded = new StringBuilder();
+        while (matcher.find()) {
+            String number = matcher.group();
+            BigDecimal decimal = new BigDecimal(number);
+            String replacement = number;
+            if (decimal.scale() > precision) {
+                BigDecimal scaled = decimal.setScale(precision, RoundingMode.HALF_UP).stripTrailingZeros();
+                replacement = scaled.signum() == 0 ? "0" : scaled.toPlainString();
+            }
+            matcher.appendReplacement(rounded, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(rounded);
+        return rounded.toString();
+    }
+
+    // CSS 공백 정리: 따옴표 밖의 연속 공백은 하나로, 구분자({ } ; : ,) 주변 공백과 '}' 앞의 ';' 는 제거
+    // 선택자의 ' :' 은 자손 선택자라 의미가 있으므로 ':' 앞 공백은 남긴다
+    static String minifyCss(String css) {
+        StringBuilder out = new StringBuilder(css.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < css.length(); i++) {
+            char c = css.charAt(i);
+            if (quote != 0) {
+                out.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (c == '}' && !out.isEmpty() && out.charAt(out.length() - 1) == ';') {
+                out.setLength(out.length() - 1);
+            }
+            if (pendingSpace && !out.isEmpty() && "{};,".indexOf(c) < 0 && "{};:,".indexOf(out.charAt(out.length() - 1)) < 0) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            if (c == '"' || c == '\'') {
+                quote = c;
+            }
+            out.append(c);
+        }
+        if (!out.isEmpty() && out.charAt(out.length() - 1) == ';') {
+            out.setLength(out.length() - 1);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,159 @@
+package com.server.pnd.report.preview;
+
+import com.server.pnd.report.config.PreviewConfig;
+import com.server.pnd.report.dto.RenderedPreviewDto;
+import lombok.RequiredArgsConstructor;
+import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
+import org.apache.batik.transcoder.SVGAbstractTranscoder;
+import org.apache.batik.transcoder.TranscoderException;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.ImageTranscoder;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * 레포트 SVG 를 테마별 PNG 미리보기로 래스터화 (Batik, JVM 안에서 처리)
+ * - 테마마다 SVG 를 파싱해 ThemeStyleFlattener 로 그 테마만의 정적인 스타일을 넣고,
+ *   Batik 이 그리지 못하는 요소(foreignObject, SMIL 애니메이션)는 뺀다. (애니메이션이 끝난 모습이 아니라 기본 속성 값으로 그려짐)
+ * - 가장 큰 가로 크기로 한 번 그린 뒤 나머지 크기는 축소해서 만든다.
+ * - 테마별로 reportPreviewExecutor 에서 동시에 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportPreviewRenderer {
+    private static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+    private static final List<String> UNSUPPORTED_ELEMENTS = List.of(
+            "foreignObject", "animate", "animateTransform", "animateMotion", "animateColor", "set");
+
+    private final PreviewConfig previewConfig;
+    private final ThreadPoolTaskExecutor reportPreviewExecutor;
+
+    // 테마별, 가로 크기별 미리보기 (테마 순서, 큰 크기부터)
+    public List<RenderedPreviewDto> render(byte[] svg, List<String> themes) {
+        List<Integer> widths = previewConfig.getWidths();
+        List<CompletableFuture<List<RenderedPreviewDto>>> futures = new ArrayList<>();
+        for (String theme : themes) {
+            futures.add(CompletableFuture.supplyAsync(() -> renderTheme(svg, theme, widths), reportPreviewExecutor));
+        }
+
+        List<RenderedPreviewDto> previews = new ArrayList<>();
+        for (CompletableFuture<List<RenderedPreviewDto>> future : futures) {
+            previews.addAll(future.join());
+        }
+        return previews;
+    }
+
+    private List<RenderedPreviewDto> renderTheme(byte[] svg, String theme, List<Integer> widths) {
+        try {
+            Document document = parse(svg);
+            applyTheme(document, theme);
+
+            BufferedImage largest = rasterize(document, widths.get(0));
+            List<RenderedPreviewDto> previews = new ArrayList<>();
+            for (int width : widths) {
+                BufferedImage image = width == largest.getWidth() ? largest : scale(largest, width);
+                previews.add(new RenderedPreviewDto(theme, image.getWidth(), image.getHeight(), encodePng(image)));
+            }
+            return previews;
+        } catch (IOException | TranscoderException e) {
+            throw new IllegalStateException("레포트 미리보기 생성 실패 theme=" + theme, e);
+        }
+    }
+
+    private static Document parse(byte[] svg) throws IOException {
+        SAXSVGDocumentFactory factory = new SAXSVGDocumentFactory(XMLResourceDescriptor.getXMLParserClassName());
+        return factory.createDocument("file:///report.svg", new ByteArrayInputStream(svg));
+    }
+
+    // 고른 테마의 정적인 스타일로 바꾸고 그릴 수 없는 요소 제거
+    private static void applyTheme(Document document, String theme) {
+        NodeList styleNodes = document.getElementsByTagNameNS(SVG_NAMESPACE, "style");
+        List<Element> styleElements = new ArrayList<>();
+        List<String> styles = new ArrayList<>();
+        for (int i = 0; i < styleNodes.getLength(); i++) {
+            Element style = (Element) styleNodes.item(i);
+            styleElements.add(style);
+            styles.add(style.getTextContent());
+        }
+        List<String> flattened = ThemeStyleFlattener.flatten(styles, theme);
+        for (int i = 0; i < styleElements.size(); i++) {
+            styleElements.get(i).setTextContent(flattened.get(i));
+        }
+
+        for (String name : UNSUPPORTED_ELEMENTS) {
+            NodeList nodes = document.getElementsByTagNameNS(SVG_NAMESPACE, name);
+            for (int i = nodes.getLength() - 1; i >= 0; i--) {
+                Node node = nodes.item(i);
+                node.getParentNode().removeChild(node);
+            }
+        }
+    }
+
+    private static BufferedImage rasterize(Document document, int width) throws TranscoderException {
+        BufferedImageTranscoder transcoder = new BufferedImageTranscoder();
+        transcoder.addTranscodingHint(SVGAbstractTranscoder.KEY_WIDTH, (float) width);
+        transcoder.transcode(new TranscoderInput(document), new TranscoderOutput());
+        return transcoder.image;
+    }
+
+    // 반씩 줄여 가며 축소 (한 번에 크게 줄이면 가는 선이 끊겨 보임)
+    private static BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width) {
+            current = resize(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        return current.getWidth() == width ? current : resize(current, width, height);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    // 그린 결과를 파일 대신 BufferedImage 로 받는 트랜스코더
+    private static class BufferedImageTranscoder extends ImageTranscoder {
+        private BufferedImage image;
+
+        @Override
+        public BufferedImage createImage(int width, int height) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        @Override
+        public void writeImage(BufferedImage image, TranscoderOutput output) {
+            this.image = image;
+        }
+    }
+}
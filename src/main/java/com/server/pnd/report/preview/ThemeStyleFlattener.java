@@ -0,0 +1,151 @@
+package com.server.pnd.report.preview;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * 테마 선택형 SVG 의 <style> 을 한 테마만 남긴 정적인 CSS 로 바꾼다. (미리보기 래스터화용)
+ * Batik 은 CSS 변수, :target, ~ 선택자, CSS 애니메이션을 지원하지 않으므로
+ * - '#테마id:target ~ *' 로 시작하는 규칙은 고른 테마 것만 남기고 접두어를 뗀다 (다른 테마 규칙은 버림)
+ * - --pnd-* 변수 선언은 모아서 var(--pnd-*) 자리에 값을 넣는다 (고른 테마 값이 기본값을 덮어씀)
+ * - @keyframes 는 버리고, animation-name 은 첫 프레임의 선언으로 바꾼다 (night-rainbow 의 정지 화면)
+ * 규칙 형식은 theme-style.ts, create-3d-contrib.ts 의 addThemeStyle 이 만드는 모양을 따른다.
+ */
+final class ThemeStyleFlattener {
+    private static final Pattern SCOPED_SELECTOR = Pattern.compile("^#([\\w-]+):target\\s*~\\s*\\*(.*)$");
+    private static final Pattern VARIABLE = Pattern.compile("var\\(--([\\w-]+)\\)");
+
+    private ThemeStyleFlattener() {
+    }
+
+    // style 요소 내용들을 고른 테마 기준으로 변환 (입력 순서대로 반환)
+    static List<String> flatten(List<String> styles, String theme) {
+        // @keyframes 이름 -> 첫 프레임 선언
+        Map<String, String> firstFrames = new HashMap<>();
+        for (String css : styles) {
+            for (Rule rule : parse(css)) {
+                if (rule.prelude().startsWith("@keyframes")) {
+                    List<Rule> frames = parse(rule.body());
+                    if (!frames.isEmpty()) {
+                        firstFrames.put(rule.prelude().substring("@keyframes".length()).trim(), frames.get(0).body());
+                    }
+                }
+            }
+        }
+
+        // 고른 테마의 규칙만 남기면서 변수 값 수집
+        Map<String, String> variables = new LinkedHashMap<>();
+        List<List<Rule>> flattened = new ArrayList<>();
+        for (String css : styles) {
+            List<Rule> rules = new ArrayList<>();
+            for (Rule rule : parse(css)) {
+                if (rule.prelude().startsWith("@")) {
+                    continue;
+                }
+                String selectors = selectorsFor(rule.prelude(), theme);
+                if (selectors == null) {
+                    continue;
+                }
+                String declarations = declarations(rule.body(), firstFrames, variables);
+                if (!declarations.isEmpty()) {
+                    rules.add(new Rule(selectors, declarations));
+                }
+            }
+            flattened.add(rules);
+        }
+
+        // var(--*) 자리에 값 대입
+        List<String> result = new ArrayList<>();
+        for (List<Rule> rules : flattened) {
+            StringBuilder css = new StringBuilder();
+            for (Rule rule : rules) {
+                if (!css.isEmpty()) {
+                    css.append('\n');
+                }
+                css.append(rule.prelude()).append('{').append(resolve(rule.body(), variables)).append('}');
+            }
+            result.add(css.toString());
+        }
+        return result;
+    }
+
+    // 테마 범위 선택자는 고른 테마 것만 접두어를 떼어 남긴다 (남는 선택자가 없으면 null)
+    private static String selectorsFor(String prelude, String theme) {
+        List<String> kept = new ArrayList<>();
+        for (String selector : prelude.split(",")) {
+            Matcher scoped = SCOPED_SELECTOR.matcher(selector.trim());
+            if (!scoped.matches()) {
+                kept.add(selector.trim());
+            } else if (scoped.group(1).equals(theme)) {
+                String rest = scoped.group(2).trim();
+                kept.add(rest.isEmpty() ? "svg" : rest);
+            }
+        }
+        return kept.isEmpty() ? null : String.join(",", kept);
+    }
+
+    // 변수 선언은 variables 로 옮기고, 애니메이션은 첫 프레임으로 바꾼다
+    private static String declarations(String body, Map<String, String> firstFrames, Map<String, String> variables) {
+        List<String> kept = new ArrayList<>();
+        for (String declaration : body.split(";")) {
+            int colon = declaration.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String property = declaration.substring(0, colon).trim();
+            String value = declaration.substring(colon + 1).trim();
+            if (property.startsWith("--")) {
+                variables.put(property.substring(2), value);
+            } else if (property.equals("animation-name")) {
+                String frame = firstFrames.get(value);
+                if (frame != null && !frame.isBlank()) {
+                    kept.add(frame.trim());
+                }
+            } else if (!property.startsWith("animation")) {
+                kept.add(property + ":" + value);
+            }
+        }
+        return String.join(";", kept);
+    }
+
+    private static String resolve(String declarations, Map<String, String> variables) {
+        Matcher matcher = VARIABLE.matcher(declarations);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String value = variables.getOrDefault(matcher.group(1), "none");
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    // 최상위 규칙 단위로 나눈다 (@keyframes 처럼 중괄호가 중첩된 규칙은 body 에 안쪽 내용이 그대로 들어감)
+    private static List<Rule> parse(String css) {
+        List<Rule> rules = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        int open = -1;
+        for (int i = 0; i < css.length(); i++) {
+            char c = css.charAt(i);
+            if (c == '{') {
+                if (depth++ == 0) {
+                    open = i;
+                }
+            } else if (c == '}' && depth > 0) {
+                if (--depth == 0) {
+                    rules.add(new Rule(css.substring(start, open).trim(), css.substring(open + 1, i)));
+                    start = i + 1;
+                }
+            }
+        }
+        return rules;
+    }
+
+    private record Rule(String prelude, String body) {
+    }
+}
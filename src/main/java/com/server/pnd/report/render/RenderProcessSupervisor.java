@@ -0,0 +1,185 @@
+package com.server.pnd.report.render;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.server.pnd.report.config.RenderConfig;
+import com.server.pnd.report.dto.RenderJobDto;
+import com.server.pnd.report.dto.RenderResultDto;
+import com.server.pnd.report.dto.RenderedSvgDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 렌더 작업 감독
+ * - 동시에 실행되는 렌더 작업 수를 세마포어로 제한 (report.render.pool-size, 기본 CPU 코어 수)
+ * - 작업마다 제한 시간(report.render.timeout-seconds)을 두고, 초과하면 워커 프로세스 트리를 강제 종료
+ * - 지표 (Micrometer)
+ *   report.render.queue, report.render.active : 슬롯을 기다리는 작업 수, 실행 중인 작업 수
+ *   report.render.duration : 성공한 렌더링 시간 (대기 시간 제외), report.render.queue.wait : 슬롯 대기 시간
+ *   report.render.jobs{result=completed|failed|timeout} : 끝난 작업 수 (시간 초과는 timeout 으로만 센다)
+ * stdout(프레임)은 작업 스레드가, stderr 는 워커별 드레인 스레드가 동시에 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RenderProcessSupervisor {
+    private final RenderConfig renderConfig;
+    private final RenderWorkerPool renderWorkerPool;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong jobSequence = new AtomicLong();
+    private Semaphore permits; // 동시에 실행 중인 렌더 작업 수 제한
+    private ScheduledExecutorService watchdog; // 제한 시간 초과 감시
+
+    // 지표
+    private final AtomicInteger activeRenders = new AtomicInteger();
+    private Timer renderDuration;
+    private Timer queueWait;
+    private Counter completedRenders;
+    private Counter failedRenders;
+    private Counter timedOutRenders;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(renderConfig.getPoolSize(), true);
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "render-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("report.render.queue", permits, Semaphore::getQueueLength)
+                .description("렌더 슬롯을 기다리는 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("report.render.active", activeRenders, AtomicInteger::get)
+                .description("실행 중인 렌더 작업 수")
+                .register(meterRegistry);
+        renderDuration = Timer.builder("report.render.duration")
+                .description("성공한 렌더 작업의 렌더링 시간 (대기 시간 제외)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        queueWait = Timer.builder("report.render.queue.wait")
+                .description("렌더 슬롯 대기 시간")
+                .register(meterRegistry);
+        completedRenders = renderJobCounter("completed");
+        failedRenders = renderJobCounter("failed");
+        timedOutRenders = renderJobCounter("timeout");
+    }
+
+    private Counter renderJobCounter(String result) {
+        return Counter.builder("report.render.jobs")
+                .description("끝난 렌더 작업 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // 렌더 작업 실행 (실행 슬롯이 생길 때까지 대기)
+    public RenderResultDto render(RenderJobDto job) throws IOException, InterruptedException {
+        job.setId(jobSequence.incrementAndGet());
+
+        long queuedAt = System.nanoTime();
+        permits.acquire();
+        long startedAt = System.nanoTime();
+        queueWait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+        activeRenders.incrementAndGet();
+
+        RenderWorker worker = null;
+        ScheduledFuture<?> deadline = null;
+        AtomicBoolean timedOut = new AtomicBoolean();
+        boolean reusable = false;
+        boolean succeeded = false;
+        try {
+            long borrowStartedAt = System.nanoTime();
+            worker = renderWorkerPool.borrow();
+            long spawnMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - borrowStartedAt);
+
+            // 제한 시간이 지나면 프로세스 트리를 죽여 블로킹된 읽기를 깨운다
+            RenderWorker target = worker;
+            deadline = watchdog.schedule(() -> {
+                timedOut.set(true);
+                target.killTree();
+            }, renderConfig.getTimeoutSeconds(), TimeUnit.SECONDS);
+
+            RenderResultDto result = exchange(worker, job);
+            result.setSpawnMs(spawnMs);
+            reusable = renderWorkerPool.isReusable(worker, result);
+
+            if (!result.isOk()) {
+                throw new RuntimeException("레포트 렌더링 실패: " + result.getError());
+            }
+            succeeded = true;
+            return result;
+        } catch (IOException e) {
+            if (timedOut.get()) {
+                throw new IOException("레포트 렌더링 시간 초과 (" + renderConfig.getTimeoutSeconds() + "초)", e);
+            }
+            String stderr = worker != null ? worker.recentStderr() : "";
+            log.warn("렌더 워커 통신 실패, 워커를 교체합니다. stderr:\n{}", stderr, e);
+            throw e;
+        } finally {
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+            if (worker != null) {
+                renderWorkerPool.giveBack(worker, reusable && !timedOut.get());
+            }
+            recordDuration(startedAt, succeeded, timedOut.get());
+            activeRenders.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    // 작업 프레임 전송 후 JSON 헤더와 SVG 바이트 프레임 수신
+    private RenderResultDto exchange(RenderWorker worker, RenderJobDto job) throws IOException {
+        worker.send(objectMapper.writeValueAsBytes(job));
+        RenderResultDto result = objectMapper.readValue(worker.readFrame(), RenderResultDto.class);
+
+        if (result.getId() != job.getId()) {
+            throw new IOException("렌더 워커 응답 순서 불일치: " + result.getId() + " != " + job.getId());
+        }
+
+        // 헤더에 적힌 파일 순서대로 SVG 바이트 프레임 수신
+        List<RenderedSvgDto> svgs = new ArrayList<>();
+        if (result.isOk() && result.getFiles() != null) {
+            for (String fileName : result.getFiles()) {
+                svgs.add(new RenderedSvgDto(fileName, worker.readFrame()));
+            }
+        }
+        result.setSvgs(svgs);
+        return result;
+    }
+
+    private void recordDuration(long startedAt, boolean succeeded, boolean timedOut) {
+        long durationNanos = System.nanoTime() - startedAt;
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        if (succeeded) {
+            completedRenders.increment();
+            renderDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+        } else if (timedOut) {
+            timedOutRenders.increment();
+        } else {
+            failedRenders.increment();
+        }
+        log.info("렌더 작업 종료 성공={}, 소요={}ms, 대기열={}", succeeded, durationMs, permits.getQueueLength());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+}
@@ -0,0 +1,90 @@
+package com.server.pnd.report.render;
+
+import com.server.pnd.report.config.GitHubHistoryConfig;
+import com.server.pnd.report.config.PreviewConfig;
+import com.server.pnd.report.config.RenderConfig;
+import com.server.pnd.report.config.SvgOptimizeConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+ * 렌더러 설정 해시
+ * 렌더 결과를 바꾸는 입력을 모두 합쳐 SHA-256 을 계산한다.
+ * - 렌더 스크립트 디렉터리의 .ts 파일(테마 색상, 테마 목록, SVG 생성 코드), 이름 순
+ * - bundle 런타임이면 실제로 실행하는 번들 파일
+ * - 서버 쪽 설정 : SVG 최적화(report.optimize.*), 미리보기 크기(report.preview.widths), 조회 범위(report.github.max-commits, since-days)
+ * 렌더러나 설정이 바뀌면 해시가 달라지므로 이전 설정으로 만든 레포트 캐시는 자동으로 무효화된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RenderSettingsFingerprint {
+    private final RenderConfig renderConfig;
+    private final SvgOptimizeConfig svgOptimizeConfig;
+    private final PreviewConfig previewConfig;
+    private final GitHubHistoryConfig gitHubHistoryConfig;
+
+    private volatile String fingerprint;
+
+    public String get() {
+        String value = fingerprint;
+        if (value == null) {
+            synchronized (this) {
+                if (fingerprint == null) {
+                    fingerprint = compute();
+                }
+                value = fingerprint;
+            }
+        }
+        return value;
+    }
+
+    private String compute() {
+        Path scriptDir = Path.of(renderConfig.getWorkerScriptPath()).toAbsolutePath().getParent();
+        try (Stream<Path> files = Files.list(scriptDir)) {
+            List<Path> sources = files
+                    .filter(path -> path.getFileName().toString().endsWith(".ts"))
+                    .sorted()
+                    .toList();
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Path source : sources) {
+                digest.update(source.getFileName().toString().getBytes());
+                digest.update(Files.readAllBytes(source));
+            }
+
+            Path bundle = Path.of(renderConfig.getBundlePath()).toAbsolutePath();
+            if (renderConfig.isBundleRuntime() && Files.isRegularFile(bundle)) {
+                digest.update("bundle".getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(bundle));
+            }
+
+            digest.update(settings().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // 해시를 계산할 수 없으면 null (캐시를 쓰지 않고, 다음 호출에서 다시 계산)
+            log.warn("렌더러 설정 해시 계산 실패, 레포트 캐시를 사용하지 않습니다. dir={}", scriptDir, e);
+            return null;
+        }
+    }
+
+    // 렌더 결과(SVG, 미리보기, 집계 범위)에 영향을 주는 서버 설정
+    private String settings() {
+        return "optimize.enabled=" + svgOptimizeConfig.isEnabled()
+                + ";optimize.precision=" + svgOptimizeConfig.getPrecision()
+                + ";preview.widths=" + previewConfig.getWidths()
+                + ";github.max-commits=" + gitHubHistoryConfig.getMaxCommits()
+                + ";github.since-days=" + gitHubHistoryConfig.getSinceDays();
+    }
+}
@@ -0,0 +1,128 @@
+package com.server.pnd.report.render;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 상주 Node.js 렌더 워커 프로세스 하나를 감싸는 클래스
+ * 메시지는 [4바이트 big-endian 길이][본문] 프레임으로 stdin/stdout 을 통해 주고받는다.
+ * 응답은 JSON 헤더 프레임 뒤에 SVG 바이트 프레임이 파일 수만큼 이어진다.
+ * stderr 는 별도 스레드가 계속 비워 주므로 로그가 많아도 파이프가 막히지 않는다.
+ * 한 번에 하나의 작업만 처리하므로 풀에서 빌려간 스레드만 사용해야 한다.
+ */
+@Slf4j
+class RenderWorker {
+    private final Process process;
+    private final DataOutputStream stdin;
+    private final DataInputStream stdout;
+    private final Deque<String> stderrTail = new ArrayDeque<>(); // 최근 stderr 몇 줄 (오류 메시지용)
+    private int jobCount; // 지금까지 처리한 작업 수
+
+    private static final int STDERR_TAIL_LINES = 20;
+
+    private RenderWorker(Process process) {
+        this.process = process;
+        this.stdin = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        this.stdout = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+    }
+
+    static RenderWorker start(List<String> command, Map<String, String> environment) throws IOException {
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.environment().putAll(environment);
+        RenderWorker worker = new RenderWorker(builder.start());
+
+        // stdout 은 프레임 전용, 워커 로그(stderr)는 별도 스레드에서 서버 로그로 흘려보낸다
+        Thread drainer = new Thread(worker::drainStderr, "render-worker-stderr-" + worker.pid());
+        drainer.setDaemon(true);
+        drainer.start();
+
+        log.info("렌더 워커 시작 pid={}", worker.pid());
+        return worker;
+    }
+
+    private void drainStderr() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                log.info("[render pid={}] {}", pid(), line);
+                synchronized (stderrTail) {
+                    if (stderrTail.size() == STDERR_TAIL_LINES) {
+                        stderrTail.removeFirst();
+                    }
+                    stderrTail.addLast(line);
+                }
+            }
+        } catch (IOException ignored) {
+            // 프로세스 종료로 스트림이 닫힘
+        }
+    }
+
+    // 최근 stderr 출력 (실패 원인 확인용)
+    String recentStderr() {
+        synchronized (stderrTail) {
+            return String.join("\n", stderrTail);
+        }
+    }
+
+    // 요청 프레임 전송
+    void send(byte[] request) throws IOException {
+        jobCount++;
+
+        stdin.writeInt(request.length);
+        stdin.write(request);
+        stdin.flush();
+    }
+
+    // 응답 프레임 하나 수신 (워커가 죽으면 EOFException)
+    byte[] readFrame() throws IOException {
+        int length = stdout.readInt();
+        byte[] frame = new byte[length];
+        stdout.readFully(frame);
+        return frame;
+    }
+
+    int getJobCount() {
+        return jobCount;
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    // 작업 시간 초과 시 워커와 자식 프로세스를 모두 강제 종료
+    void killTree() {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        log.warn("렌더 워커 강제 종료 pid={}", pid());
+    }
+
+    // stdin 을 닫아 정상 종료를 유도하고, 응답이 없으면 강제 종료
+    void shutdown() {
+        try {
+            stdin.close();
+        } catch (IOException ignored) {
+            // 이미 종료된 프로세스
+        }
+        try {
+            if (!process.waitFor(2, TimeUnit.SECONDS)) {
+                killTree();
+            }
+        } catch (InterruptedException e) {
+            killTree();
+            Thread.currentThread().interrupt();
+        }
+        log.info("렌더 워커 종료 pid={}, 처리 작업 수={}", pid(), jobCount);
+    }
+}
@@ -0,0 +1,148 @@
+package com.server.pnd.report.render;
+
+import com.server.pnd.report.config.RenderConfig;
+import com.server.pnd.report.dto.RenderResultDto;
+import com.server.pnd.report.metrics.ReportStageMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 상주 Node.js 렌더 워커 풀
+ * - 워커 수는 CPU 코어 수(report.render.pool-size)로 제한 (동시 사용 수 제한은 RenderProcessSupervisor 가 담당)
+ * - 워커는 N번 작업 후(report.render.max-jobs-per-worker) 또는 메모리 상한 초과 시(report.render.max-rss-mb) 재시작
+ * - 비정상 종료된 워커는 폐기하고 새 워커로 교체
+ * - 기본은 빌드된 번들을 node 로 실행 (report.render.runtime=bundle), 번들이 없으면 ts-node 로 소스를 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RenderWorkerPool {
+    private final RenderConfig renderConfig;
+    private final ReportStageMetrics reportStageMetrics;
+
+    private final BlockingDeque<RenderWorker> idleWorkers = new LinkedBlockingDeque<>();
+    private final AtomicInteger liveWorkers = new AtomicInteger(); // 살아 있는(유휴 + 사용 중) 워커 수
+    private volatile boolean closed;
+    private final AtomicBoolean bundleMissingLogged = new AtomicBoolean();
+
+    // 서버 기동 후 워커를 미리 띄워 첫 요청의 Node 부팅 비용을 없앤다
+    @EventListener(ApplicationReadyEvent.class)
+    public void prestart() {
+        for (int i = 0; i < renderConfig.getPoolSize(); i++) {
+            replenish();
+        }
+    }
+
+    // 유휴 워커를 꺼내고, 없거나 죽어 있으면 새로 띄운다
+    RenderWorker borrow() throws IOException {
+        RenderWorker worker;
+        while ((worker = idleWorkers.pollFirst()) != null) {
+            if (worker.isAlive()) {
+                return worker;
+            }
+            log.warn("비정상 종료된 렌더 워커 폐기 pid={}", worker.pid());
+            retire(worker);
+        }
+        return spawn();
+    }
+
+    // 작업이 끝난 워커 반납 (재사용할 수 없으면 종료 후 새 워커로 교체)
+    void giveBack(RenderWorker worker, boolean reusable) {
+        if (reusable && worker.isAlive() && !closed) {
+            idleWorkers.offerFirst(worker);
+        } else {
+            retire(worker);
+            replenish();
+        }
+    }
+
+    // 재활용 조건 확인
+    boolean isReusable(RenderWorker worker, RenderResultDto result) {
+        if (worker.getJobCount() >= renderConfig.getMaxJobsPerWorker()) {
+            log.info("렌더 워커 재시작 (작업 수 상한) pid={}", worker.pid());
+            return false;
+        }
+        if (result.getRss() >= renderConfig.getMaxRssBytes()) {
+            log.info("렌더 워커 재시작 (메모리 상한 {} bytes) pid={}", result.getRss(), worker.pid());
+            return false;
+        }
+        return true;
+    }
+
+    // 폐기된 워커 자리를 새 워커로 채운다 (실패해도 다음 요청에서 다시 시도)
+    private void replenish() {
+        if (closed || liveWorkers.get() >= renderConfig.getPoolSize()) {
+            return;
+        }
+        try {
+            idleWorkers.offerLast(spawn());
+        } catch (IOException e) {
+            log.warn("렌더 워커 시작 실패", e);
+        }
+    }
+
+    // 워커 프로세스 시작 (소요 시간은 process_spawn 단계로 기록)
+    private RenderWorker spawn() throws IOException {
+        long startedAt = System.nanoTime();
+        RenderWorker worker;
+        try {
+            worker = RenderWorker.start(command(), environment());
+        } catch (IOException e) {
+            reportStageMetrics.record(ReportStageMetrics.PROCESS_SPAWN, startedAt, e, null);
+            throw e;
+        }
+        reportStageMetrics.record(ReportStageMetrics.PROCESS_SPAWN, startedAt, null, null);
+        liveWorkers.incrementAndGet();
+        return worker;
+    }
+
+    private void retire(RenderWorker worker) {
+        worker.shutdown();
+        liveWorkers.decrementAndGet();
+    }
+
+    private List<String> command() {
+        if (renderConfig.isBundleRuntime()) {
+            Path bundle = Path.of(renderConfig.getBundlePath());
+            if (Files.isRegularFile(bundle)) {
+                return List.of("node", bundle.toString());
+            }
+            if (bundleMissingLogged.compareAndSet(false, true)) {
+                log.warn("렌더 워커 번들이 없어 ts-node 로 실행합니다. (./gradlew buildRenderer 필요) path={}", bundle.toAbsolutePath());
+            }
+        }
+        return List.of("ts-node", renderConfig.getWorkerScriptPath());
+    }
+
+    // 컴파일 캐시를 켜면 워커를 다시 띄울 때 번들 파싱, 컴파일 비용을 줄일 수 있다
+    private Map<String, String> environment() {
+        String compileCacheDir = renderConfig.getCompileCacheDir();
+        if (compileCacheDir == null || compileCacheDir.isBlank()) {
+            return Map.of();
+        }
+        return Map.of("NODE_COMPILE_CACHE", compileCacheDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        RenderWorker worker;
+        while ((worker = idleWorkers.pollFirst()) != null) {
+            retire(worker);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.server.pnd.report.render;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * 테마 선택형 SVG 를 한 테마로 고정한 SVG 로 바꾼다. (<img>, CSS background 로 쓰는 테마별 이미지용)
+ * 테마 선택형 SVG 는 URL 조각(#테마id)과 '#테마id:target ~ *' 규칙으로 테마를 고르는데,
+ * 이미지로 불러온 SVG 문서에서 :target 이 적용되는지는 브라우저마다 다르고 (GitHub 이미지 프록시 등은 조각을 버리기도 함) 여기서 확인할 수 없다.
+ * 그래서 고른 테마의 규칙에서 ':target' 만 떼어 '#테마id ~ *' 로 바꾼다.
+ * - 테마 id 요소는 SVG 맨 앞에 있으므로 뒤따르는 모든 요소에 항상 적용된다 (우선순위는 :target 일 때와 같음)
+ * - 다른 테마 규칙은 :target 이 그대로라 적용되지 않고, CSS 변수, 애니메이션은 그대로 둔다
+ * - 기본 테마(첫 번째)는 범위 없는 규칙이므로 원본과 같은 내용이 된다 (같은 S3 객체를 공유)
+ * 규칙 형식은 theme-style.ts, create-3d-contrib.ts 의 addThemeStyle 이 만드는 모양을 따른다.
+ */
+public final class ThemePinnedSvg {
+
+    private ThemePinnedSvg() {
+    }
+
+    public static byte[] pin(byte[] svg, String theme) {
+        String source = new String(svg, StandardCharsets.UTF_8);
+        Pattern scope = Pattern.compile("#" + Pattern.quote(theme) + ":target(?=\\s*~)");
+        Matcher matcher = scope.matcher(source);
+        if (!matcher.find()) {
+            return svg;
+        }
+        return matcher.replaceAll(Matcher.quoteReplacement("#" + theme)).getBytes(StandardCharsets.UTF_8);
+    }
+}
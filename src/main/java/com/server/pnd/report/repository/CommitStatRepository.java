@@ -0,0 +1,34 @@
+package com.server.pnd.report.repository;
+
+import com.server.pnd.domain.CommitStat;
+import com.server.pnd.domain.Repo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+public interface CommitStatRepository extends JpaRepository<CommitStat, Long> {
+    // 워터마크 : 원장에 있는 가장 최근 커밋 일시 (끝까지 마친 동기화 뒤 REPO.commit_ledger_cursor 로 저장)
+    @Query("SELECT MAX(c.committedAt) FROM CommitStat c WHERE c.repo = :repo")
+    Optional<LocalDateTime> findWatermark(@Param("repo") Repo repo);
+
+    // 이미 저장된 커밋 해시 전체 (커서가 없는데 원장이 비어 있지 않은 경우의 중복 제거용)
+    @Query("SELECT c.oid FROM CommitStat c WHERE c.repo = :repo")
+    Set<String> findOids(@Param("repo") Repo repo);
+
+    // 해당 시각 이후 이미 저장된 커밋 해시 (겹쳐서 다시 조회한 구간의 중복 제거용)
+    @Query("SELECT c.oid FROM CommitStat c WHERE c.repo = :repo AND c.committedAt >= :since")
+    Set<String> findOidsSince(@Param("repo") Repo repo, @Param("since") LocalDateTime since);
+
+    // 최신순 커밋 (집계용)
+    List<CommitStat> findByRepoOrderByCommittedAtDesc(Repo repo, Pageable pageable);
+
+    List<CommitStat> findByRepoAndCommittedAtGreaterThanEqualOrderByCommittedAtDesc(Repo repo, LocalDateTime since, Pageable pageable);
+}
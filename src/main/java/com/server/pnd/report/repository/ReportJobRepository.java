@@ -0,0 +1,45 @@
+package com.server.pnd.report.repository;
+
+import com.server.pnd.domain.ReportJob;
+import com.server.pnd.domain.ReportJobStage;
+import com.server.pnd.domain.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+    // 임대가 끝난 미완료 작업 (실행하던 서버가 죽었거나 멈춘 작업, 재개용)
+    @Query("SELECT j FROM ReportJob j WHERE j.activeRepoId IS NOT NULL " +
+            "AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now) ORDER BY j.id")
+    List<ReportJob> findLeaseExpired(@Param("now") LocalDateTime now);
+
+    // 해당 레포의 진행 중인 작업
+    Optional<ReportJob> findByActiveRepoId(Long repoId);
+
+    // 임대가 끝난 작업을 가져와 대기 상태로 되돌린다 (여러 서버가 동시에 시도해도 한 곳만 1 을 받음)
+    // 자기 자신이 가진 작업은 가져오지 않는다 (heartbeat 가 늦어 임대가 끝나 보여도 아직 실행 중일 수 있음)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ReportJob j SET j.ownerInstance = :owner, j.leaseExpiresAt = :until, " +
+            "j.status = :status, j.stage = :stage, j.progress = 0 " +
+            "WHERE j.id = :jobId AND j.activeRepoId IS NOT NULL " +
+            "AND (j.ownerInstance IS NULL OR j.ownerInstance <> :owner) " +
+            "AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)")
+    int takeOver(@Param("jobId") Long jobId, @Param("owner") String owner, @Param("until") LocalDateTime until,
+                 @Param("now") LocalDateTime now, @Param("status") ReportJobStatus status, @Param("stage") ReportJobStage stage);
+
+    // 임대 연장 (0 이면 다른 서버가 가져갔거나 끝난 작업)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.leaseExpiresAt = :until " +
+            "WHERE j.id = :jobId AND j.ownerInstance = :owner AND j.activeRepoId IS NOT NULL")
+    int renewLease(@Param("jobId") Long jobId, @Param("owner") String owner, @Param("until") LocalDateTime until);
+}
@@ -16,6 +16,10 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
 
     Optional<Report> findByRepo(Repo repo);
 
+    // 레포, 테마별 이미지까지 한 번에 조회
+    @Query("SELECT DISTINCT r FROM Report r JOIN FETCH r.repo LEFT JOIN FETCH r.variants WHERE r.repo.id = :repoId")
+    Optional<Report> findWithVariantsByRepoId(@Param("repoId") Long repoId);
+
     // 해당 repoId를 가진 report 존재하는가 리턴
     @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END " +
             "FROM Report r WHERE r.repo.id = :repoId")
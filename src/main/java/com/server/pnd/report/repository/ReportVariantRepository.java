@@ -0,0 +1,15 @@
+package com.server.pnd.report.repository;
+
+import com.server.pnd.domain.ReportVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReportVariantRepository extends JpaRepository<ReportVariant, Long> {
+    // 객체 이름을 가리키는 테마 이미지 수 (이미지, 테마 선택형 이미지, 미리보기 URL 중 하나라도)
+    @Query(value = "SELECT COUNT(*) FROM REPORT_VARIANT WHERE url LIKE :pattern OR themeable_url LIKE :pattern " +
+            "OR previews LIKE :pattern", nativeQuery = true)
+    long countReferencing(@Param("pattern") String pattern);
+}
@@ -0,0 +1,113 @@
+package com.server.pnd.report.service;
+
+import com.server.pnd.domain.CommitStat;
+import com.server.pnd.domain.Repo;
+import com.server.pnd.report.config.GitHubHistoryConfig;
+import com.server.pnd.report.dto.CommitStatDto;
+import com.server.pnd.report.dto.GitHubRepositoryDto;
+import com.server.pnd.report.repository.CommitStatRepository;
+import com.server.pnd.repo.repository.RepoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/*
+ * 커밋 원장 (COMMIT_STAT)
+ * - 동기화 커서(REPO.commit_ledger_cursor) 이후 커밋만 history(since:) 로 가져와 추가한다
+ * - 레포트 집계는 GitHub 응답이 아니라 원장에서 읽는다
+ * 커서보다 ledger-overlap-days 만큼 앞에서부터 다시 조회하고 커밋 해시로 중복을 걸러,
+ * 늦게 병합되어 커밋 일시가 커서보다 이른 커밋도 놓치지 않는다.
+ * 저장은 배치마다 따로 커밋되므로, 커서는 중간에 끊기지 않고(취소, 시간 초과, 오류 -> 예외) 끝까지 받은 동기화에서만
+ * 원장의 가장 최근 커밋 일시로 옮긴다. 중간에 끊긴 동기화 뒤에는 이전 커서부터 다시 조회하므로 빠진 구간이 남지 않는다.
+ * max-commits 에 걸려 페이지 조회를 멈춘 경우(truncated)는 끊긴 것이 아니다. 최신 커밋부터 받으므로 빠지는 것은 더 오래된 커밋뿐이고,
+ * 레포트 집계(forEachCommit)도 최근 max-commits 개만 읽으므로 커서를 옮긴다. (옮기지 않으면 큰 레포는 매번 전체 이력을 다시 받음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommitLedgerService {
+    private static final int SAVE_BATCH_SIZE = 500;
+
+    private final CommitStatRepository commitStatRepository;
+    private final GitHubGraphQLService gitHubGraphQLService;
+    private final GitHubHistoryConfig gitHubHistoryConfig;
+    private final RepoRepository repoRepository;
+
+    // 새 커밋만 GitHub 에서 가져와 원장에 추가하고 레포지토리 정보 반환
+    // cancelled 가 서면 다음 커밋을 받기 전에 멈춘다 (저장 중인 배치는 끝까지 쓰고 CancellationException)
+    public GitHubRepositoryDto sync(Repo repo, String accessToken, String username, String organizationName, String repositoryName,
+                                    BooleanSupplier cancelled) {
+        Optional<LocalDateTime> cursor = repoRepository.findCommitLedgerCursor(repo.getId());
+        LocalDateTime since = fetchSince(cursor);
+        // 커서가 없으면 (처음이거나 이전 동기화가 끝나지 못함) 원장 전체와 중복을 비교
+        Set<String> knownOids = since != null ? commitStatRepository.findOidsSince(repo, since) : commitStatRepository.findOids(repo);
+
+        List<CommitStat> batch = new ArrayList<>();
+        int[] added = {0};
+        GitHubRepositoryDto repository = gitHubGraphQLService.fetchRepository(accessToken, username, organizationName, repositoryName,
+                since != null ? since.toInstant(ZoneOffset.UTC).toString() : null,
+                commit -> {
+                    throwIfCancelled(cancelled);
+                    if (knownOids.contains(commit.getOid())) {
+                        return;
+                    }
+                    batch.add(CommitStat.of(repo, commit));
+                    added[0]++;
+                    if (batch.size() >= SAVE_BATCH_SIZE) {
+                        commitStatRepository.saveAll(batch);
+                        batch.clear();
+                    }
+                });
+        throwIfCancelled(cancelled);
+        commitStatRepository.saveAll(batch);
+
+        // 여기까지 왔으면 페이지 조회가 끝난 것 (끝까지 받았거나 max-commits 에 걸림) -> 커서를 옮긴다
+        commitStatRepository.findWatermark(repo)
+                .ifPresent(watermark -> repoRepository.updateCommitLedgerCursor(repo.getId(), watermark));
+
+        log.info("커밋 원장 갱신 repoId={}, since={}, fetched={}, added={}, truncated={}",
+                repo.getId(), since, repository.getFetchedCommits(), added[0], repository.isTruncated());
+        return repository;
+    }
+
+    private static void throwIfCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("커밋 원장 갱신 취소");
+        }
+    }
+
+    // 원장의 커밋을 최신순으로 consumer 에 넘긴다 (report.github.max-commits, since-days 적용)
+    public void forEachCommit(Repo repo, Consumer<CommitStatDto> consumer) {
+        PageRequest limit = PageRequest.of(0, gitHubHistoryConfig.getMaxCommits());
+        LocalDateTime sinceBound = gitHubHistoryConfig.getSinceBound();
+
+        List<CommitStat> commits = sinceBound != null
+                ? commitStatRepository.findByRepoAndCommittedAtGreaterThanEqualOrderByCommittedAtDesc(repo, sinceBound, limit)
+                : commitStatRepository.findByRepoOrderByCommittedAtDesc(repo, limit);
+        for (CommitStat commit : commits) {
+            consumer.accept(commit.toDto());
+        }
+    }
+
+    // GitHub 에서 조회를 시작할 시각 (커서가 없으면 since-days 기준, 없으면 전체)
+    private LocalDateTime fetchSince(Optional<LocalDateTime> cursor) {
+        LocalDateTime sinceBound = gitHubHistoryConfig.getSinceBound();
+        if (cursor.isEmpty()) {
+            return sinceBound;
+        }
+
+        LocalDateTime since = cursor.get().minusDays(gitHubHistoryConfig.getLedgerOverlapDays());
+        return sinceBound != null && sinceBound.isAfter(since) ? sinceBound : since;
+    }
+}
@@ -0,0 +1,115 @@
+package com.server.pnd.report.service;
+
+import com.server.pnd.report.dto.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+
+/*
+ * 커밋을 한 건씩 받아 렌더러용 요약(RepositorySummaryDto)으로 집계한다.
+ * 커밋 목록을 보관하지 않고 날짜별/시간대별 값은 원시 타입 배열에 누적하므로,
+ * 메모리는 커밋 수가 아니라 커밋이 있는 날짜 수와 작성자 수에 비례한다.
+ */
+class CommitStatsAggregator implements Consumer<CommitStatDto> {
+    private static final int INITIAL_DAY_CAPACITY = 256;
+
+    // 날짜별 기여 (slot 은 처음 본 순서, 정렬은 마지막에)
+    private final Map<Long, Integer> daySlots = new HashMap<>();
+    private long[] days = new long[INITIAL_DAY_CAPACITY];
+    private long[] dayCounts = new long[INITIAL_DAY_CAPACITY];
+    private int[] dayLevels = new int[INITIAL_DAY_CAPACITY];
+
+    private final int[] commitsByHour = new int[24];
+    private final Map<String, long[]> authors = new HashMap<>(); // 이름 -> {커밋 수, additions, deletions}
+    private long totalContributions;
+    private int totalCommits;
+
+    @Override
+    public void accept(CommitStatDto commit) {
+        OffsetDateTime committedAt = OffsetDateTime.parse(commit.getCommittedDate()).withOffsetSameInstant(ZoneOffset.UTC);
+        int contribution = commit.getAdditions() - commit.getDeletions();
+
+        int slot = daySlots.computeIfAbsent(committedAt.toLocalDate().toEpochDay(), this::newDaySlot);
+        dayCounts[slot] += contribution;
+        dayLevels[slot] = Math.max(dayLevels[slot], contributionLevel(commit.getChangedFiles()));
+
+        commitsByHour[committedAt.getHour()]++;
+
+        long[] author = authors.computeIfAbsent(commit.getAuthor(), name -> new long[3]);
+        author[0]++;
+        author[1] += commit.getAdditions();
+        author[2] += commit.getDeletions();
+
+        totalContributions += contribution;
+        totalCommits++;
+    }
+
+    // 렌더러용 요약 생성
+    RepositorySummaryDto toSummary(GitHubRepositoryDto repository) {
+        // 날짜 오름차순으로 정렬
+        int dayCount = daySlots.size();
+        Integer[] order = new Integer[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(slot -> days[slot]));
+
+        long[] sortedDays = new long[dayCount];
+        long[] sortedCounts = new long[dayCount];
+        int[] sortedLevels = new int[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            sortedDays[i] = days[order[i]];
+            sortedCounts[i] = dayCounts[order[i]];
+            sortedLevels[i] = dayLevels[order[i]];
+        }
+
+        List<AuthorStatDto> authorStats = new ArrayList<>();
+        authors.forEach((name, stat) -> authorStats.add(new AuthorStatDto(name, (int) stat[0], stat[1], stat[2])));
+        authorStats.sort(Comparator.comparingInt(AuthorStatDto::getCommits).reversed());
+
+        long totalSize = repository.getLanguages().stream().mapToLong(GitHubLanguageDto::getSize).sum();
+        List<LanguageShareDto> languages = repository.getLanguages().stream()
+                .sorted(Comparator.comparingLong(GitHubLanguageDto::getSize).reversed())
+                .map(language -> new LanguageShareDto(language.getName(), language.getColor(), language.getSize(),
+                        totalSize > 0 ? (double) language.getSize() / totalSize : 0))
+                .toList();
+
+        return RepositorySummaryDto.builder()
+                .schemaVersion(RepositorySummaryDto.SCHEMA_VERSION)
+                .name(repository.getName())
+                .forkCount(repository.getForkCount())
+                .stargazerCount(repository.getStargazerCount())
+                .primaryLanguage(repository.getPrimaryLanguage())
+                .languages(languages)
+                .days(sortedDays)
+                .dayCounts(sortedCounts)
+                .dayLevels(sortedLevels)
+                .commitsByHour(commitsByHour.clone())
+                .authors(authorStats)
+                .totalContributions(totalContributions)
+                .totalCommits(totalCommits)
+                .build();
+    }
+
+    private int newDaySlot(long epochDay) {
+        int slot = daySlots.size();
+        if (slot == days.length) {
+            days = Arrays.copyOf(days, slot * 2);
+            dayCounts = Arrays.copyOf(dayCounts, slot * 2);
+            dayLevels = Arrays.copyOf(dayLevels, slot * 2);
+        }
+        days[slot] = epochDay;
+        return slot;
+    }
+
+    // 기여 레벨 (aggregate-repo-info.ts 의 calculateContributionLevel 과 같은 기준)
+    private static int contributionLevel(int changedFiles) {
+        if (changedFiles >= 50) return 4;
+        if (changedFiles >= 20) return 3;
+        if (changedFiles >= 10) return 2;
+        if (changedFiles >= 5) return 1;
+        return 0;
+    }
+}
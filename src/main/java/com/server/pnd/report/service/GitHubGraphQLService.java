@@ -1,71 +1,221 @@
 package com.server.pnd.report.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.server.pnd.report.config.GitHubHistoryConfig;
+import com.server.pnd.report.dto.CommitStatDto;
+import com.server.pnd.report.dto.GitHubLanguageDto;
+import com.server.pnd.report.dto.GitHubRepositoryDto;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GitHubGraphQLService {
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final GitHubHistoryConfig gitHubHistoryConfig;
+    private final ThreadPoolTaskExecutor githubFetchExecutor;
+
+    private static final String GRAPHQL_URL = "https://api.github.com/graphql";
+
+    // 커밋 이력 한 페이지 조회 쿼리 (레포 정보는 첫 페이지에서만 요청)
+    private static final String HISTORY_QUERY = "query($owner: String!, $name: String!, $first: Int!, $after: String, $since: GitTimestamp, $withMeta: Boolean!) { "
+            + "repository(owner: $owner, name: $name) { "
+            + "... on Repository @include(if: $withMeta) { "
+            + "name "
+            + "forkCount "
+            + "stargazerCount "
+            + "primaryLanguage { name color } "
+            + "languages(first: 10) { edges { node { name color } size } } "
+            + "} "
+            + "defaultBranchRef { "
+            + "name "
+            + "target { "
+            + "... on Commit { "
+            + "oid "
+            + "history(first: $first, after: $after, since: $since) { "
+            + "pageInfo { hasNextPage endCursor } "
+            + "edges { node { oid committedDate additions deletions changedFiles author { name } } } "
+            + "} "
+            + "} "
+            + "} "
+            + "} "
+            + "} "
+            + "}";
 
-    public String fetchUserData(String accessToken, String username, String organizationName,  String repositoryName) {
-        String url = "https://api.github.com/graphql";
+    // 기본 브랜치 HEAD 커밋 조회 쿼리
+    private static final String HEAD_QUERY = "query($owner: String!, $name: String!) { "
+            + "repository(owner: $owner, name: $name) { defaultBranchRef { target { oid } } } "
+            + "}";
 
+    /*
+     * 레포지토리 정보와 커밋 이력 조회
+     * - pageInfo.endCursor 를 따라가며 페이지 단위로 조회하고, 커밋은 한 건씩 consumer 로 넘긴다 (전체 응답을 모아두지 않음)
+     * - 현재 페이지를 넘기는 동안 다음 페이지를 미리 요청한다 (최대 1페이지)
+     * - report.github.max-commits 를 넘는 커밋은 잘라낸다
+     * since: 이 시각 이후 커밋만 조회 (ISO-8601, null 이면 전체)
+     */
+    public GitHubRepositoryDto fetchRepository(String accessToken, String username, String organizationName, String repositoryName,
+                                               String since, Consumer<CommitStatDto> consumer) {
         // 조직 레포지토리일 경우 organizationName을 사용, 아니면 username 사용
         String ownerName = !organizationName.isEmpty() ? organizationName : username;
+        int maxCommits = gitHubHistoryConfig.getMaxCommits();
+
+        JsonNode repositoryNode = fetchHistoryPage(accessToken, ownerName, repositoryName, since, null,
+                Math.min(gitHubHistoryConfig.getPageSize(), maxCommits), true);
+        GitHubRepositoryDto repository = toRepository(repositoryNode);
+
+        int fetched = 0;
+        while (true) {
+            JsonNode history = repositoryNode.path("defaultBranchRef").path("target").path("history");
+            JsonNode edges = history.path("edges");
+            boolean hasNextPage = history.path("pageInfo").path("hasNextPage").asBoolean(false);
+            int remaining = maxCommits - fetched - edges.size();
+
+            // 현재 페이지를 처리하는 동안 다음 페이지를 미리 요청
+            CompletableFuture<JsonNode> nextPage = null;
+            if (hasNextPage && remaining > 0) {
+                String cursor = history.path("pageInfo").path("endCursor").asText();
+                int first = Math.min(gitHubHistoryConfig.getPageSize(), remaining);
+                nextPage = CompletableFuture.supplyAsync(
+                        () -> fetchHistoryPage(accessToken, ownerName, repositoryName, since, cursor, first, false),
+                        githubFetchExecutor);
+            }
 
-        // GraphQL 쿼리 정의
-        String query = "{ \"query\": \"query { repository(owner: \\\"" + ownerName + "\\\", name: \\\"" + repositoryName + "\\\") { "
-                + "name "
-                + "forkCount "
-                + "stargazerCount "
-                + "primaryLanguage { name color } "
-                + "defaultBranchRef { "
-                + "name "  // 브랜치 이름을 확인하기 위해 추가
-                + "target { "
-                + "... on Commit { "
-                + "history(first: 100) { "
-                + "edges { "
-                + "node { "
-                + "committedDate "
-                + "additions "
-                + "deletions "
-                + "changedFiles "
-                + "author { name } "
-                + "} "
-                + "} "
-                + "} "
-                + "} "
-                + "} "
-                + "} "
-                + "languages(first: 10) { "
-                + "edges { "
-                + "node { name color } "
-                + "size "
-                + "} "
-                + "} "
-                + "} "
-                + "}\" }";
+            try {
+                for (JsonNode edge : edges) {
+                    if (fetched >= maxCommits) {
+                        break;
+                    }
+                    consumer.accept(toCommitStat(edge.path("node")));
+                    fetched++;
+                }
+            } catch (RuntimeException e) {
+                if (nextPage != null) {
+                    nextPage.cancel(true);
+                }
+                throw e;
+            }
+
+            if (nextPage == null) {
+                repository.setTruncated(hasNextPage);
+                break;
+            }
+            try {
+                repositoryNode = nextPage.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        repository.setFetchedCommits(fetched);
+        log.info("GitHub 커밋 이력 조회 완료 repo={}/{}, commits={}, truncated={}",
+                ownerName, repositoryName, fetched, repository.isTruncated());
+        return repository;
+    }
+
+    // 커밋 이력 한 페이지 조회 후 repository 노드 반환
+    private JsonNode fetchHistoryPage(String accessToken, String ownerName, String repositoryName,
+                                      String since, String after, int first, boolean withMeta) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("owner", ownerName);
+        variables.put("name", repositoryName);
+        variables.put("first", first);
+        variables.put("after", after);
+        variables.put("since", since);
+        variables.put("withMeta", withMeta);
+
+        JsonNode body = postQuery(accessToken, Map.of("query", HISTORY_QUERY, "variables", variables));
+        JsonNode repository = body.path("data").path("repository");
+        if (!repository.isObject()) {
+            throw new IllegalStateException("GitHub 레포지토리를 찾을 수 없습니다: " + ownerName + "/" + repositoryName);
+        }
+        return repository;
+    }
 
+    private JsonNode postQuery(String accessToken, Map<String, Object> request) {
         // 헤더 설정
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", "Bearer " + accessToken);
         headers.set("Content-Type", "application/json");
 
-        // 요청 보내기
-        HttpEntity<String> entity = new HttpEntity<>(query, headers);
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
+        try {
+            // 요청 보내기
+            HttpEntity<String> entity = new HttpEntity<>(objectMapper.writeValueAsString(request), headers);
+            ResponseEntity<String> response = restTemplate.exchange(GRAPHQL_URL, HttpMethod.POST, entity, String.class);
 
-        System.out.println("GraphQL Query Response: " + response.getBody());
+            JsonNode body = objectMapper.readTree(response.getBody());
+            if (body.hasNonNull("errors")) {
+                throw new IllegalStateException("GitHub GraphQL 오류: " + body.get("errors"));
+            }
+            return body;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("GitHub GraphQL 응답 파싱 중 오류 발생", e);
+        }
+    }
+
+    private GitHubRepositoryDto toRepository(JsonNode repositoryNode) {
+        GitHubRepositoryDto repository = new GitHubRepositoryDto();
+        repository.setName(repositoryNode.path("name").asText());
+        repository.setForkCount(repositoryNode.path("forkCount").asInt());
+        repository.setStargazerCount(repositoryNode.path("stargazerCount").asInt());
+
+        JsonNode primaryLanguage = repositoryNode.path("primaryLanguage");
+        if (primaryLanguage.isObject()) {
+            repository.setPrimaryLanguage(new GitHubLanguageDto(
+                    primaryLanguage.path("name").asText(), textOrNull(primaryLanguage.path("color")), 0));
+        }
+        for (JsonNode edge : repositoryNode.path("languages").path("edges")) {
+            repository.getLanguages().add(new GitHubLanguageDto(
+                    edge.path("node").path("name").asText(), textOrNull(edge.path("node").path("color")), edge.path("size").asLong()));
+        }
+
+        JsonNode defaultBranchRef = repositoryNode.path("defaultBranchRef");
+        repository.setDefaultBranchName(textOrNull(defaultBranchRef.path("name")));
+        repository.setHeadOid(textOrNull(defaultBranchRef.path("target").path("oid")));
+        return repository;
+    }
+
+    private CommitStatDto toCommitStat(JsonNode node) {
+        return new CommitStatDto(
+                node.path("oid").asText(),
+                node.path("committedDate").asText(),
+                node.path("additions").asInt(),
+                node.path("deletions").asInt(),
+                node.path("changedFiles").asInt(),
+                node.path("author").path("name").asText(""));
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node.isTextual() ? node.asText() : null;
+    }
+
+    // 기본 브랜치 HEAD 커밋만 조회 (레포트 캐시 확인용)
+    public String fetchHeadOid(String accessToken, String username, String organizationName, String repositoryName) {
+        // 조직 레포지토리일 경우 organizationName을 사용, 아니면 username 사용
+        String ownerName = !organizationName.isEmpty() ? organizationName : username;
 
-        // 응답 본문 반환
-        return response.getBody();
+        JsonNode body = postQuery(accessToken, Map.of(
+                "query", HEAD_QUERY,
+                "variables", Map.of("owner", ownerName, "name", repositoryName)));
+        return textOrNull(body.path("data").path("repository").path("defaultBranchRef").path("target").path("oid"));
     }
 
 }
@@ -0,0 +1,549 @@
+package com.server.pnd.report.service;
+
+import com.server.pnd.diagram.service.QuestionService;
+import com.server.pnd.domain.Repo;
+import com.server.pnd.domain.Report;
+import com.server.pnd.domain.ReportJob;
+import com.server.pnd.domain.ReportJobStage;
+import com.server.pnd.domain.User;
+import com.server.pnd.gpt.cache.GptFeature;
+import com.server.pnd.gpt.dto.ChatCompletionDto;
+import com.server.pnd.gpt.dto.ChatRequestMsgDto;
+import com.server.pnd.report.config.PreviewConfig;
+import com.server.pnd.report.config.ReportJobConfig;
+import com.server.pnd.report.config.SvgOptimizeConfig;
+import com.server.pnd.report.dto.GitHubRepositoryDto;
+import com.server.pnd.report.dto.RenderJobDto;
+import com.server.pnd.report.dto.RenderedPreviewDto;
+import com.server.pnd.report.dto.RenderResultDto;
+import com.server.pnd.report.dto.RenderedSvgDto;
+import com.server.pnd.report.dto.RepositorySummaryDto;
+import com.server.pnd.report.dto.ThemeManifestDto;
+import com.server.pnd.report.metrics.ReportStageMetrics;
+import com.server.pnd.report.optimize.SvgOptimizer;
+import com.server.pnd.report.preview.ReportPreviewRenderer;
+import com.server.pnd.report.render.RenderProcessSupervisor;
+import com.server.pnd.report.render.RenderSettingsFingerprint;
+import com.server.pnd.report.render.ThemePinnedSvg;
+import com.server.pnd.report.repository.ReportJobRepository;
+import com.server.pnd.report.repository.ReportRepository;
+import com.server.pnd.s3.dto.S3ObjectDto;
+import com.server.pnd.s3.service.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/*
+ * 레포트 생성 파이프라인 (백그라운드 작업)
+ * GitHub 데이터 조회 -> GPT 회고 가이드 생성 -> SVG 렌더링 -> S3 업로드 -> DB 저장
+ * 단계마다 ReportJob 의 진행 상태를 갱신하고, 단계별 소요 시간을 지표(ReportStageMetrics)와 ReportJob 에 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportGenerator {
+    private final ReportRepository reportRepository;
+    private final ReportJobRepository reportJobRepository;
+    private final ReportJobLease reportJobLease;
+    private final CommitLedgerService commitLedgerService;
+    private final S3Service s3Service;
+    private final QuestionService questionService;
+    private final RenderProcessSupervisor renderProcessSupervisor;
+    private final RenderSettingsFingerprint renderSettingsFingerprint;
+    private final ReportJobConfig reportJobConfig;
+    private final ReportStageMetrics reportStageMetrics;
+    private final PreviewConfig previewConfig;
+    private final ReportPreviewRenderer reportPreviewRenderer;
+    private final SvgOptimizeConfig svgOptimizeConfig;
+    private final SvgOptimizer svgOptimizer;
+    private final ThreadPoolTaskExecutor reportIoExecutor;
+
+    // 회고 가이드 생성 프롬프트
+    private static final String RETROSPECT_PROMPT =
+            "내가 제공하는 링크로 접속하여 깃 레파지토리 내의 모든 디렉토리 및 코드를 확인해줘. 프로젝트를 전체적으로 리뷰 및 회고를 할 수 있도록 회고 가이드를 생성해줘. 혹시 레포지토리 타이틀이 길어 잘리게 된다면, 폰트 크기는 알아서 조절해줘. 템플릿은 예시 그대로 적용하고 내용만 바꿔주면 돼. 다른 설명할 필요 없이 예시로 제공하는 것처럼 **HTML 문법**을 사용하여 큰따옴표로 감싸진 순수한 문자열만 제공해줘.  \n" +
+                    "회고 방법 추천은 애자일 회고의 4가지 방법들인 KPT(Keep, Problem, Try), CSS(Continue, Stop, Start), Mad-Sad-Glad, 4Ls 중에서 레포지토리에 가장 어울리는 걸로 골라주고 그 이유도 아래 예시와 같이 써줘. 회고 방법 설명에는 해당 회고 방법의 진행 방법을 간단하게 써주면 돼. \n" +
+                    "최대한 사용자가 레포지토리별로 맞춤 회고 가이드를 받는다고 느끼도록 섬세하고 차별화된 가이드를 제공해줘. \n" +
+                    "다 작성한 후, 내가 요구한대로 잘 생성을 했는지 다시 확인한 후 보내줘.\n" +
+                    "\n" +
+                    "---\n" +
+                    "\n" +
+                    "<!-- 예시 1 -->\n" +
+                    "[질문]\n" +
+                    "https://github.com/benniejung/all-together-front\n" +
+                    "\n" +
+                    "[답변]\n" +
+                    "<h1 style=\"margin-bottom: -10px;\">\uD83D\uDD04 All Together 프론트엔드 프로젝트 회고가이드 \uD83D\uDD04</h1>\n" +
+                    "\t<div style=\"display: flex;\">\n" +
+                    "  <div style=\"flex: 1;\">\n" +
+                    "    <h2>\uD83D\uDCAD <strong>회고</strong></h2>\n" +
+                    "    <h3>\uD83C\uDFAF 회고 방법 추천: <strong>KPT (Keep, Problem, Try)</strong></h3>\n" +
+                    "    <p>All Together 프로젝트는 프론트엔드에서 유지보수성과 확장성에 중점을 두었기 때문에 <strong>KPT</strong> 방식을 추천드립니다. </p>\n" +
+                    "\n" +
+                    "    <h3>\uD83D\uDCE2 회고 방법 설명</h3>\n" +
+                    "    <p>KPT는 현재 잘되고 있는 부분(Keep), 문제점(Problem), 시도해볼 점(Try)을 구분하여, 각 기능에 대한 피드백을 명확히 할 수 있습니다. 이 방식은 프론트엔드의 디테일한 피드백을 제공하는 데 효과적입니다.</p>\n" +
+                    "\n" +
+                    "    <h3>\uD83C\uDF08 회고를 위한 기본 요소</h3>\n" +
+                    "    <ul style=\"display: flex; list-style-type: none; padding: 0;\">\n" +
+                    "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 개방성과 솔직함</li>\n" +
+                    "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 비판적 사고</li>\n" +
+                    "      <li>\uD83D\uDD05 학습 중심</li>\n" +
+                    "    </ul>\n" +
+                    "  </div>\n" +
+                    "\n" +
+                    "  <div style=\"flex: 1;\">\n" +
+                    "    <h2>\uD83D\uDD2E AI 리뷰</h2>\n" +
+                    "\n" +
+                    " \n" +
+                    "    <h4>\uD83D\uDE80 잘된 점</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>모듈화된 컴포넌트 구조: 유지보수와 확장성이 뛰어났습니다.</li>\n" +
+                    "      <li>협업 도구 사용: GitHub의 Pull Request와 코드 리뷰로 효율성을 높였습니다.</li>\n" +
+                    "    </ul>\n" +
+                    "\n" +
+                    "    <h4>\uD83D\uDD27 개선할 점</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>로딩 속도 최적화: 성능 개선이 필요합니다.</li>\n" +
+                    "      <li>테스트 부족: 더 많은 테스트 케이스가 필요합니다.</li>\n" +
+                    "    </ul>\n" +
+                    "\n" +
+                    "    <h4>\uD83D\uDCA1 회고하면 좋을 것들</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>UI/UX 피드백 반영</li>\n" +
+                    "      <li>기술 부채 관리</li>\n" +
+                    "      <li>CI/CD 파이프라인 구축 경험</li>\n" +
+                    "    </ul>\n" +
+                    "  </div>\n" +
+                    "</div>\n" +
+                    "\n" +
+                    "<!-- 예시 2 -->\n" +
+                    "[질문]\n" +
+                    "https://github.com/khyaejin/YourSide-Server\n" +
+                    "\n" +
+                    "[답변]\n" +
+                    "<h1 style=\"margin-bottom: -10px;\">\uD83D\uDD04 YourSide-Server 백엔드 프로젝트 회고가이드 \uD83D\uDD04</h1>\n" +
+                    "\t<div style=\"display: flex;\">\n" +
+                    "  <div style=\"flex: 1;\">\n" +
+                    "\n" +
+                    "    <h2>\uD83D\uDCAD <strong>회고</strong></h2>\n" +
+                    "    <h3>\uD83C\uDFAF 회고 방법 추천: <strong>4Ls (Liked, Learned, Lacked, Longed for)</strong></h3>\n" +
+                    "    <p>YourSide-Server 프로젝트는 백엔드의 데이터 관리 및 추천 시스템 개발이 중점이었기 때문에 <strong>4Ls</strong> 방식을 추천드립니다.</p>\n" +
+                    "\n" +
+                    "    <h3>\uD83D\uDCE2 회고 방법 설명</h3>\n" +
+                    "    <p>4Ls는 팀원들이 프로젝트에서 좋았던 점(Liked), 배운 점(Learned), 부족했던 점(Lacked), 더 원했던 점(Longed for)을 공유하며, 개선 사항을 도출하기에 효과적입니다.</p>\n" +
+                    "\n" +
+                    "    <h3>\uD83C\uDF08 회고를 위한 기본 요소</h3>\n" +
+                    "    <ul style=\"display: flex; list-style-type: none; padding: 0;\">\n" +
+                    "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 개방성과 솔직함</li>\n" +
+                    "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 비판적 사고</li>\n" +
+                    "      <li>\uD83D\uDD05 학습 중심</li>\n" +
+                    "    </ul>\n" +
+                    "  </div>\n" +
+                    "\n" +
+                    "  <div style=\"flex: 1;\">\n" +
+                    "    <h2>\uD83D\uDD2E AI 리뷰</h2>\n" +
+                    "\n" +
+                    "\n" +
+                    "    <h4>\uD83D\uDE80 잘된 점</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>데이터 관리 효율성: 데이터베이스 설계가 효율적이었습니다.</li>\n" +
+                    "      <li>Spring Boot 활용: 안정적인 배포와 빠른 서비스 제공이 가능했습니다.</li>\n" +
+                    "    </ul>\n" +
+                    "\n" +
+                    "    <h4>\uD83D\uDD27 개선할 점</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>API 성능 최적화: 데이터 처리 속도를 개선할 필요가 있었습니다.</li>\n" +
+                    "      <li>테스트 부족: 더 많은 테스트 커버리지가 필요합니다.</li>\n" +
+                    "    </ul>\n" +
+                    "\n" +
+                    "    <h4>\uD83D\uDCA1 회고하면 좋을 것들</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>데이터 구조 최적화</li>\n" +
+                    "      <li>API 성능 향상 방법</li>\n" +
+                    "      <li>테스트 자동화 도입</li>\n" +
+                    "    </ul>\n" +
+                    "  </div>\n" +
+                    "</div>\n" +
+                    "\n" +
+                    "<!-- 예시 3 -->\n" +
+                    "[질문]\n" +
+                    "https://github.com/khyaejin/Scapture-Server\n" +
+                    "\n" +
+                    "[답변]\n" +
+                    "<h1 style=\"margin-bottom: -10px;\">\uD83D\uDD04 Scapture-Server 백엔드 프로젝트 회고가이드 \uD83D\uDD04</h1>\n" +
+                    "\t<div style=\"display: flex;\">\n" +
+                    "  <div style=\"flex: 1;\">\n" +
+                    "\n" +
+                    "    <h2>\uD83D\uDCAD <strong>회고</strong></h2>\n" +
+                    "    <h3>\uD83C\uDFAF 회고 방법 추천: <strong>CSS (Continue, Stop, Start)</strong></h3>\n" +
+                    "    <p>Scapture-Server 프로젝트는 복잡한 데이터 처리 로직과 빠른 응답이 중요한 백엔드 시스템이었기 때문에 <strong>CSS</strong> 방식을 추천드립니다.</p>\n" +
+                    "\n" +
+                    "    <h3>\uD83D\uDCE2 회고 방법 설명</h3>\n" +
+                    "    <p>CSS 방식은 현재 유지할 것(Continue), 중단할 것(Stop), 새로 시작할 것(Start)을 명확히 구분하여, 성과를 유지하면서 개선할 사항을 도출하는 데 유리합니다.</p>\n" +
+                    "\n" +
+                    "    <h3>\uD83C\uDF08 회고를 위한 기본 요소</h3>\n" +
+                    "    <ul style=\"display: flex; list-style-type: none; padding: 0;\">\n" +
+                    "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 개방성과 솔직함</li>\n" +
+                    "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 비판적 사고</li>\n" +
+                    "      <li>\uD83D\uDD05 학습 중심</li>\n" +
+                    "    </ul>\n" +
+                    "  </div>\n" +
+                    "\n" +
+                    "  <div style=\"flex: 1;\">\n" +
+                    "    <h2>\uD83D\uDD2E AI 리뷰</h2>\n" +
+                    "\n" +
+                    "   \n" +
+                    "    <h4>\uD83D\uDE80 잘된 점</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>데이터 분석 로직: 고성능의 데이터 처리 로직이 설계되었습니다.</li>\n" +
+                    "      <li>RESTful API 설계: API 설계가 간결하고 효율적이었습니다.</li>\n" +
+                    "    </ul>\n" +
+                    "\n" +
+                    "    <h4>\uD83D\uDD27 개선할 점</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>확장성 부족: 일부 모듈의 확장성 문제를 겪었습니다.</li>\n" +
+                    "      <li>로그 관리 부족: 로그 기록이 미흡했습니다.</li>\n" +
+                    "    </ul>\n" +
+                    "\n" +
+                    "    <h4>\uD83D\uDCA1 회고하면 좋을 것들</h4>\n" +
+                    "    <ul>\n" +
+                    "      <li>확장 가능한 구조 설계</li>\n" +
+                    "      <li>로그 관리 자동화</li>\n" +
+                    "      <li>API 버전 관리</li>\n" +
+                    "    </ul>\n" +
+                    "  </div>\n" +
+                    "</div>\n" +
+                    "\n";
+
+    // 레포트 생성 작업 실행
+    public void generate(Long jobId) {
+        Optional<ReportJob> foundJob = reportJobRepository.findById(jobId);
+        if (foundJob.isEmpty() || foundJob.get().isFinished()) {
+            return;
+        }
+        ReportJob job = foundJob.get();
+
+        // 단계별 소요 시간 (ms, GitHub 조회와 GPT 호출이 동시에 기록하므로 동기화)
+        Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+        long startedAt = System.nanoTime();
+
+        try {
+            Repo repo = job.getRepo();
+            User user = repo.getUser();
+
+            // 엑세스 토큰, URL 설정
+            String accessToken = user.getAccessToken();
+            String username = user.getName();
+            String repositoryName = repo.getRepoName();
+            String organizationName = repo.getOrganizationName();
+
+            // 데이터 세팅 ----------------------------------------------------------------------------------------
+            // GitHub 조회와 GPT 호출은 서로 독립적이므로 동시에 보낸다 (각각 제한 시간, 한쪽이 실패하면 다른 쪽 취소)
+            updateStage(job, ReportJobStage.FETCHING_GITHUB, 10);
+
+            // GPT API 사용하여 회고 정보 가져오기 (제한 시간 초과도 구분해서 기록하도록 future 기준으로 잰다)
+            // 취소하면 (GitHub 조회 실패) 같은 요청을 기다리는 다른 호출자가 없을 때 HTTP 요청과 요청 한도 대기도 취소된다.
+            long gptStartedAt = System.nanoTime();
+            CompletableFuture<String> retrospectFuture = questionService.callGptApiAsync(GptFeature.RETROSPECT, retrospectRequest(repo))
+                    .orTimeout(reportJobConfig.getGptTimeoutSeconds(), TimeUnit.SECONDS);
+            retrospectFuture.whenComplete((retrospect, e) ->
+                    reportStageMetrics.record(ReportStageMetrics.GPT_RETROSPECT, gptStartedAt, e, timings));
+
+            // GitHub GraphQL API 사용하여 데이터 가져오기
+            // (새 커밋만 가져와 커밋 원장에 추가하고, 집계는 원장에서 읽음)
+            CompletableFuture<GitHubData> githubFuture = supplyIo(cancelled -> {
+                GitHubRepositoryDto repository = reportStageMetrics.time(ReportStageMetrics.GITHUB_FETCH, timings,
+                        () -> commitLedgerService.sync(repo, accessToken, username, organizationName, repositoryName, cancelled));
+                return reportStageMetrics.time(ReportStageMetrics.AGGREGATE, timings, () -> {
+                    CommitStatsAggregator aggregator = new CommitStatsAggregator();
+                    commitLedgerService.forEachCommit(repo, aggregator);
+                    return new GitHubData(aggregator.toSummary(repository), repository.getHeadOid());
+                });
+            }, reportJobConfig.getGithubTimeoutSeconds());
+
+            // 한쪽이 실패하면 다른 쪽도 취소 (인터럽트하지 않음, GitHub 조회는 원장 배치 사이에서 멈추고 GPT 는 요청을 중단한다)
+            githubFuture.whenComplete((data, e) -> {
+                if (e != null) {
+                    retrospectFuture.cancel(false);
+                }
+            });
+            retrospectFuture.whenComplete((retrospect, e) -> {
+                if (e != null) {
+                    githubFuture.cancel(false);
+                }
+            });
+
+            GitHubData githubData = await(githubFuture, "GitHub 데이터 조회");
+            RepositorySummaryDto summary = githubData.summary();
+            String headOid = githubData.headOid(); // 이 데이터 기준의 HEAD (캐시 키)
+
+            if (!retrospectFuture.isDone()) {
+                updateStage(job, ReportJobStage.GENERATING_RETROSPECT, 30);
+            }
+            String retroResponse = await(retrospectFuture, "회고 가이드 생성");
+            log.debug("회고 가이드 생성 완료: repoId={}, length={}", repo.getId(), retroResponse.length());
+
+            // 데이터 세팅 끝 ------------------------------------------------------------------------------------------
+
+            // 상주 렌더 워커에서 SVG 생성 (동시 실행 수, 제한 시간은 supervisor 가 관리)
+            updateStage(job, ReportJobStage.RENDERING, 60);
+            RenderResultDto renderResult = reportStageMetrics.time(ReportStageMetrics.RENDER, timings,
+                    () -> renderProcessSupervisor.render(RenderJobDto.builder()
+                            .summary(summary)
+                            .username(username)
+                            .retrospect(retroResponse)
+                            .build()));
+            if (renderResult.getSpawnMs() > 0) {
+                timings.put(ReportStageMetrics.PROCESS_SPAWN, renderResult.getSpawnMs());
+            }
+            List<RenderedSvgDto> renderedSvgs = renderResult.getSvgs();
+
+            if (renderedSvgs == null || renderedSvgs.isEmpty()) {
+                throw new RuntimeException("SVG 파일 생성 중 오류 발생, 렌더링 결과가 없음.");
+            }
+            log.debug("SVG 렌더링 완료: {}", String.join(", ", renderResult.getFiles()));
+
+            ThemeManifestDto manifest = renderResult.getManifest();
+            if (manifest == null || manifest.getThemes() == null || manifest.getThemes().isEmpty()) {
+                throw new RuntimeException("SVG 파일 생성 중 오류 발생, 테마 목록이 없음.");
+            }
+
+            // SVG 최적화 (좌표 반올림, 기본값 속성, 공백 제거)
+            byte[] renderedSvg = renderedSvgs.get(0).getContent();
+            byte[] svg = svgOptimizeConfig.isEnabled()
+                    ? reportStageMetrics.time(ReportStageMetrics.SVG_OPTIMIZE, timings, () -> svgOptimizer.optimize(renderedSvg))
+                    : renderedSvg;
+
+            // 테마별 PNG 미리보기 (실패해도 레포트는 미리보기 없이 저장)
+            List<RenderedPreviewDto> previews = List.of();
+            if (previewConfig.isEnabled()) {
+                updateStage(job, ReportJobStage.PREVIEWING, 70);
+                List<String> themeIds = manifest.getThemes().stream().map(ThemeManifestDto.Theme::getId).toList();
+                try {
+                    previews = reportStageMetrics.time(ReportStageMetrics.PREVIEW, timings,
+                            () -> reportPreviewRenderer.render(svg, themeIds));
+                } catch (Exception e) {
+                    log.warn("레포트 미리보기 생성 실패, 미리보기 없이 저장 repoId={}", repo.getId(), e);
+                }
+            }
+
+            // S3 업로드 (모든 테마를 담은 SVG + 테마별로 고정한 SVG + 미리보기 PNG)
+            updateStage(job, ReportJobStage.UPLOADING, 80);
+            List<RenderedPreviewDto> renderedPreviews = previews;
+            UploadedImages uploaded = reportStageMetrics.time(ReportStageMetrics.S3_UPLOAD, timings,
+                    () -> uploadImages(svg, renderedSvg.length, manifest, renderedPreviews));
+
+            // DB 저장
+            updateStage(job, ReportJobStage.SAVING, 95);
+            Report report = reportStageMetrics.time(ReportStageMetrics.DB_UPSERT, timings,
+                    () -> saveReport(repo, uploaded, manifest, headOid));
+
+            reportStageMetrics.record(ReportStageMetrics.TOTAL, startedAt, null, timings);
+            reportStageMetrics.countJob(null);
+            job.recordStageTimings(snapshot(timings));
+            reportJobLease.ensureHeld(jobId);
+            job.succeed(report);
+            reportJobRepository.save(job);
+        } catch (ReportJobLease.LeaseLostException e) {
+            // 다른 서버가 가져간 작업 -> 그 서버의 진행 상황을 덮어쓰지 않고 멈춘다
+            log.warn("임대를 잃어 레포트 생성 작업을 중단합니다 jobId={}", jobId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finishFailed(job, e, startedAt, timings);
+            failJob(job, "레포트 렌더링 중 오류가 발생했습니다.");
+        } catch (Exception e) {
+            log.error("레포트 생성 실패 jobId={}", jobId, e);
+            finishFailed(job, e, startedAt, timings);
+            failJob(job, e.getMessage() != null ? e.getMessage() : "알 수 없는 오류가 발생했습니다.");
+        }
+    }
+
+    // 실패한 작업의 지표와 그때까지의 단계별 소요 시간 기록
+    private void finishFailed(ReportJob job, Exception e, long startedAt, Map<String, Long> timings) {
+        reportStageMetrics.record(ReportStageMetrics.TOTAL, startedAt, e, timings);
+        reportStageMetrics.countJob(e);
+        job.recordStageTimings(snapshot(timings));
+    }
+
+    private static Map<String, Long> snapshot(Map<String, Long> timings) {
+        synchronized (timings) {
+            return new LinkedHashMap<>(timings);
+        }
+    }
+
+    // 회고 가이드 GPT 요청 생성
+    private ChatCompletionDto retrospectRequest(Repo repo) {
+        // 시스템 메시지 생성
+        List<ChatRequestMsgDto> messages = List.of(
+                ChatRequestMsgDto.builder().role("system").content(RETROSPECT_PROMPT).build(),
+                ChatRequestMsgDto.builder().role("user").content(repo.getRepoURL()).build()
+        );
+
+        // ChatCompletionDto 객체 생성
+        return ChatCompletionDto.builder()
+                .model("gpt-4o")
+                .messages(messages)
+                .build();
+    }
+
+    // 테마 선택형 SVG 와 테마별로 고정한 SVG, 미리보기를 S3에 업로드
+    private UploadedImages uploadImages(byte[] svg, long renderedByteSize, ThemeManifestDto manifest,
+                                       List<RenderedPreviewDto> previews) {
+        Map<String, S3ObjectDto> themeImages = uploadThemeImages(svg, manifest);
+        S3ObjectDto image = themeImages.get(manifest.getDefaultTheme());
+        if (image == null) {
+            image = themeImages.values().iterator().next();
+        }
+        reportStageMetrics.recordAssetSize("rendered", renderedByteSize);
+        reportStageMetrics.recordAssetSize("optimized", image.getByteSize());
+        reportStageMetrics.recordAssetSize("stored", image.getStoredByteSize());
+        log.info("레포트 SVG 크기 rendered={} optimized={} stored={} bytes", renderedByteSize, image.getByteSize(), image.getStoredByteSize());
+        return new UploadedImages(image.getUrl(), themeImages, renderedByteSize, uploadPreviews(previews));
+    }
+
+    // 테마마다 그 테마로 고정한 SVG 업로드, 테마 id -> 객체
+    // <img> 로 불러온 SVG 에서는 URL 조각(:target)으로 테마를 고를 수 있다고 보장할 수 없으므로 테마별 객체를 따로 둔다.
+    // 기본 테마는 테마 선택형 SVG 와 내용이 같아 같은 객체를 공유한다. (내용이 같은 이미지는 하나의 S3 객체)
+    private Map<String, S3ObjectDto> uploadThemeImages(byte[] svg, ThemeManifestDto manifest) {
+        List<String> themeIds = manifest.getThemes().stream().map(ThemeManifestDto.Theme::getId).toList();
+        List<byte[]> contents = themeIds.stream().map(theme -> ThemePinnedSvg.pin(svg, theme)).toList();
+        List<S3ObjectDto> objects = s3Service.uploadAll(contents);
+
+        Map<String, S3ObjectDto> themeImages = new LinkedHashMap<>();
+        for (int i = 0; i < themeIds.size(); i++) {
+            S3ObjectDto object = objects.get(i);
+            themeImages.put(themeIds.get(i), object);
+            log.info("레포트 이미지 업로드: {} {}{}", themeIds.get(i), object.getUrl(), object.isCreated() ? "" : " (재사용)");
+        }
+        return themeImages;
+    }
+
+    // 미리보기 PNG 업로드, 테마 id -> (가로 크기 -> URL)
+    private Map<String, Map<String, String>> uploadPreviews(List<RenderedPreviewDto> previews) {
+        Map<String, Map<String, String>> urls = new LinkedHashMap<>();
+        if (previews.isEmpty()) {
+            return urls;
+        }
+        List<S3ObjectDto> objects = s3Service.uploadAll(
+                previews.stream().map(RenderedPreviewDto::getContent).toList(), "png", "image/png");
+        for (int i = 0; i < previews.size(); i++) {
+            RenderedPreviewDto preview = previews.get(i);
+            urls.computeIfAbsent(preview.getTheme(), theme -> new LinkedHashMap<>())
+                    .put(String.valueOf(preview.getWidth()), objects.get(i).getUrl());
+        }
+        return urls;
+    }
+
+    // 레포트 저장 (이미 존재하면 업데이트)
+    // 테마마다 그 테마로 고정한 SVG URL 과 테마 선택형 SVG 의 테마 조각 URL(image#테마id)을 테마별 이미지 행으로 저장한다.
+    private Report saveReport(Repo repo, UploadedImages uploaded, ThemeManifestDto manifest, String headOid) {
+        // 이미 존재하는 report가 있으면 업데이트, 없으면 새로 삽입
+        Report report = reportRepository.findWithVariantsByRepoId(repo.getId())
+                .orElseGet(() -> Report.builder().repo(repo).build());
+
+        List<String> themeIds = new ArrayList<>();
+        for (ThemeManifestDto.Theme theme : manifest.getThemes()) {
+            S3ObjectDto image = uploaded.themeImages().get(theme.getId());
+            report.putVariant(theme.getId(), themeIds.size(), image.getUrl(), uploaded.themeableUrl() + "#" + theme.getId(),
+                    image.getByteSize(), uploaded.renderedByteSize(), image.getStoredByteSize(), image.getContentHash(),
+                    uploaded.previewUrls().get(theme.getId()));
+            themeIds.add(theme.getId());
+        }
+        report.retainVariants(themeIds);
+
+        report.setHeadOid(headOid);
+        report.setSettingsHash(renderSettingsFingerprint.get());
+
+        // DB에 저장
+        return reportRepository.save(report);
+    }
+
+    // 테마 선택형 SVG URL, 테마별로 고정한 SVG (테마 id -> 객체), 렌더러 원본 크기, 테마별 미리보기 URL (테마 id -> (가로 크기 -> URL))
+    private record UploadedImages(String themeableUrl, Map<String, S3ObjectDto> themeImages, long renderedByteSize,
+                                  Map<String, Map<String, String>> previewUrls) {
+    }
+
+    // GitHub 조회 결과 (렌더러용 요약 + 기준 HEAD)
+    private record GitHubData(RepositorySummaryDto summary, String headOid) {
+    }
+
+    /*
+     * I/O 스레드에서 실행 (timeoutSeconds 가 지나면 TimeoutException 으로 실패)
+     * 결과 future 가 취소되거나 시간 초과되면 스레드를 인터럽트하지 않고 cancelled 만 세운다.
+     * 작업은 확인할 수 있는 지점(커밋 원장 배치 사이)에서 멈추므로 진행 중인 JPA 쓰기가 중간에 끊기지 않는다.
+     * I/O 스레드 풀이 가득 차 거절되면 거절 수를 기록하고 실패로 끝낸다. (작업 스레드에서 대신 실행하지 않음, 접수 대기열이 가득 찬 경우처럼 다시 시도하도록)
+     */
+    private <T> CompletableFuture<T> supplyIo(IoTask<T> task, long timeoutSeconds) {
+        CompletableFuture<T> result = new CompletableFuture<T>().orTimeout(timeoutSeconds, TimeUnit.SECONDS);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        result.whenComplete((value, e) -> {
+            if (e != null) {
+                cancelled.set(true);
+            }
+        });
+
+        Runnable run = () -> {
+            try {
+                result.complete(task.call(cancelled::get));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+        try {
+            reportIoExecutor.execute(run);
+        } catch (TaskRejectedException e) {
+            reportStageMetrics.countIoRejected();
+            log.warn("I/O 스레드 풀이 가득 차 GitHub 조회를 시작하지 못했습니다. (active={}, queued={})",
+                    reportIoExecutor.getActiveCount(), reportIoExecutor.getThreadPoolExecutor().getQueue().size());
+            result.completeExceptionally(new RuntimeException("처리 중인 레포트 생성 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.", e));
+        }
+        return result;
+    }
+
+    // 취소 여부를 확인할 수 있는 I/O 작업
+    @FunctionalInterface
+    private interface IoTask<T> {
+        T call(BooleanSupplier cancelled) throws Exception;
+    }
+
+    // 결과 대기 (시간 초과, 취소, 실패를 단계 이름이 붙은 예외로 변환)
+    private <T> T await(CompletableFuture<T> future, String stageName) {
+        try {
+            return future.join();
+        } catch (CancellationException e) {
+            throw new RuntimeException(stageName + " 취소됨 (다른 단계 실패)", e);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new RuntimeException(stageName + " 시간 초과", cause);
+            }
+            throw cause instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(stageName + " 실패", cause);
+        }
+    }
+
+    private void updateStage(ReportJob job, ReportJobStage stage, int progress) {
+        reportJobLease.ensureHeld(job.getId());
+        job.updateStage(stage, progress);
+        reportJobRepository.save(job);
+    }
+
+    private void failJob(ReportJob job, String errorMessage) {
+        if (!reportJobLease.isHeld(job.getId())) {
+            log.warn("임대를 잃은 작업이라 실패로 기록하지 않습니다 jobId={}", job.getId());
+            return;
+        }
+        job.fail(errorMessage);
+        reportJobRepository.save(job);
+    }
+}
@@ -0,0 +1,67 @@
+package com.server.pnd.report.service;
+
+import com.server.pnd.domain.ReportJob;
+import com.server.pnd.report.repository.ReportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 레포트 생성 작업을 reportJobExecutor 에 제출하는 클래스
+ * 작업은 DB(REPORT_JOB)에 먼저 저장되므로, 실행하던 서버가 죽거나 멈춰 임대가 끝난 작업을 다른 서버(또는 재시작한 서버)가 가져가 다시 제출한다.
+ * 임대가 살아 있는 작업은 다른 서버가 실행 중이므로 건드리지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportJobDispatcher {
+    private final ReportJobRepository reportJobRepository;
+    private final ReportGenerator reportGenerator;
+    private final ThreadPoolTaskExecutor reportJobExecutor;
+    private final ReportJobSingleFlight reportJobSingleFlight;
+    private final ReportJobLease reportJobLease;
+
+    // 작업 제출 (대기열이 가득 차면 TaskRejectedException)
+    public void dispatch(Long jobId) {
+        reportJobExecutor.execute(() -> {
+            try {
+                reportGenerator.generate(jobId);
+            } finally {
+                reportJobSingleFlight.release(jobId);
+            }
+        });
+    }
+
+    // 서버 기동 시, 그리고 주기적으로 임대가 끝난 작업 재개 (조건부 UPDATE 로 가져온 작업만)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${report.job.lease-seconds:60}", fixedDelayString = "${report.job.lease-seconds:60}",
+            timeUnit = TimeUnit.SECONDS)
+    public void resumeExpiredJobs() {
+        List<ReportJob> expiredJobs = reportJobRepository.findLeaseExpired(LocalDateTime.now());
+
+        for (ReportJob expired : expiredJobs) {
+            if (!reportJobLease.tryTakeOver(expired.getId())) {
+                continue; // 다른 서버가 먼저 가져갔거나 그 사이 임대가 연장됨
+            }
+            try {
+                dispatch(expired.getId());
+                log.info("임대가 끝난 레포트 생성 작업 재개 jobId={}", expired.getId());
+            } catch (TaskRejectedException e) {
+                reportJobRepository.findById(expired.getId()).ifPresent(job -> {
+                    job.fail("작업을 재개하지 못했습니다.");
+                    reportJobRepository.save(job);
+                });
+                reportJobLease.release(expired.getId());
+            }
+        }
+    }
+}
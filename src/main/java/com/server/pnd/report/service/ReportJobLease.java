@@ -0,0 +1,99 @@
+package com.server.pnd.report.service;
+
+import com.server.pnd.domain.ReportJobStage;
+import com.server.pnd.domain.ReportJobStatus;
+import com.server.pnd.report.config.ReportJobConfig;
+import com.server.pnd.report.repository.ReportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 레포트 생성 작업 임대 (lease)
+ * - 작업을 실행하는 서버가 REPORT_JOB.owner_instance / lease_expires_at 을 갖고, 실행하는 동안 heartbeat 로 연장한다
+ * - 임대가 끝난 작업(실행하던 서버가 죽었거나 멈춘 작업)만 다른 서버가 조건부 UPDATE 로 가져간다 (동시에 시도해도 한 곳만 성공)
+ * - 연장에 실패하면 (다른 서버가 가져감) 이 서버의 실행은 다음 단계에서 결과를 쓰지 않고 멈춘다
+ * 만료 판단은 각 서버의 시계를 쓰므로 서버 간 시계 차이는 lease-seconds 보다 충분히 작아야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportJobLease {
+    private final ReportJobRepository reportJobRepository;
+    private final ReportJobConfig reportJobConfig;
+
+    private final Map<Long, Boolean> heldJobs = new ConcurrentHashMap<>(); // jobId -> 임대 유지 여부
+
+    public String getInstanceId() {
+        return reportJobConfig.getInstanceId();
+    }
+
+    // 지금 임대를 받거나 연장하면 끝나는 시각
+    public LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plusSeconds(reportJobConfig.getLeaseSeconds());
+    }
+
+    // 이 서버가 임대를 갖고 등록한 작업
+    public void hold(Long jobId) {
+        heldJobs.put(jobId, true);
+    }
+
+    // 임대가 끝난 작업을 가져와 대기 상태로 되돌린다 (이 서버가 실행 중인 작업은 건너뜀)
+    public boolean tryTakeOver(Long jobId) {
+        if (heldJobs.containsKey(jobId)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = reportJobRepository.takeOver(jobId, getInstanceId(),
+                now.plusSeconds(reportJobConfig.getLeaseSeconds()), now,
+                ReportJobStatus.QUEUED, ReportJobStage.QUEUED);
+        if (updated == 0) {
+            return false;
+        }
+        hold(jobId);
+        return true;
+    }
+
+    public boolean isHeld(Long jobId) {
+        return heldJobs.getOrDefault(jobId, false);
+    }
+
+    // 실행 중에 임대를 잃었으면 LeaseLostException (결과를 쓰기 전에 확인)
+    public void ensureHeld(Long jobId) {
+        if (!isHeld(jobId)) {
+            throw new LeaseLostException(jobId);
+        }
+    }
+
+    public void release(Long jobId) {
+        heldJobs.remove(jobId);
+    }
+
+    // 실행 중인 작업의 임대 연장 (lease-seconds 의 1/3 마다)
+    @Scheduled(fixedDelayString = "${report.job.heartbeat-seconds:20}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        LocalDateTime until = leaseUntil();
+        heldJobs.forEach((jobId, held) -> {
+            if (!held) {
+                return;
+            }
+            if (reportJobRepository.renewLease(jobId, getInstanceId(), until) == 0) {
+                // 끝난 작업은 release 로 먼저 빠지므로, 여기서 0 이면 다른 서버가 가져간 작업
+                heldJobs.replace(jobId, true, false);
+                log.warn("레포트 생성 작업 임대를 잃었습니다 jobId={}", jobId);
+            }
+        });
+    }
+
+    public static class LeaseLostException extends RuntimeException {
+        public LeaseLostException(Long jobId) {
+            super("레포트 생성 작업 임대를 잃었습니다. jobId=" + jobId);
+        }
+    }
+}
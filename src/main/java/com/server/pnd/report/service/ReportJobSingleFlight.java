@@ -0,0 +1,113 @@
+package com.server.pnd.report.service;
+
+import com.server.pnd.domain.Repo;
+import com.server.pnd.domain.ReportJob;
+import com.server.pnd.report.repository.ReportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 레포별 레포트 생성 작업 단일 실행 (single-flight)
+ * 같은 레포에 진행 중인 작업이 있으면 새 작업을 만들지 않고 그 작업에 합류시킨다 (모든 호출자가 같은 jobId 로 결과를 받음).
+ * - 서버 내 : repoId -> jobId 맵. 동시에 들어온 요청 중 하나만 DB 에 작업을 등록하고 나머지는 그 결과를 기다린다
+ * - 서버 간 : REPORT_JOB.active_repo_id 유니크 제약. 먼저 등록한 서버의 작업에 합류한다
+ *   (그 작업의 임대가 끝났으면 ReportJobLease 로 가져와 이 서버가 다시 실행)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportJobSingleFlight {
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportJobLease reportJobLease;
+
+    private final Map<Long, CompletableFuture<Long>> inFlightJobs = new ConcurrentHashMap<>(); // repoId -> jobId
+
+    // 등록 결과 (created 가 true 인 호출자만 작업을 제출한다)
+    public record Claim(ReportJob job, boolean created) {
+    }
+
+    // 진행 중인 작업에 합류하거나 새 작업을 등록
+    public Claim claim(Repo repo) {
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            CompletableFuture<Long> registration = new CompletableFuture<>();
+            CompletableFuture<Long> inFlight = inFlightJobs.putIfAbsent(repo.getId(), registration);
+
+            // 이 요청이 대표로 DB 에 등록
+            if (inFlight == null) {
+                try {
+                    Claim claim = claimInDatabase(repo);
+                    registration.complete(claim.job().getId());
+                    return claim;
+                } catch (RuntimeException e) {
+                    inFlightJobs.remove(repo.getId(), registration);
+                    registration.completeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            // 진행 중인 작업에 합류 (이미 끝난 작업이면 맵에서 지우고 다시 시도)
+            try {
+                Optional<ReportJob> job = reportJobRepository.findById(inFlight.join())
+                        .filter(found -> !found.isFinished());
+                if (job.isPresent()) {
+                    return new Claim(job.get(), false);
+                }
+            } catch (CompletionException e) {
+                // 대표 요청의 등록이 실패한 경우 -> 다시 시도
+            }
+            inFlightJobs.remove(repo.getId(), inFlight);
+        }
+        throw new IllegalStateException("레포트 생성 작업을 등록하지 못했습니다.");
+    }
+
+    // 작업이 끝나면 맵과 임대 목록에서 제거
+    public void release(Long jobId) {
+        reportJobLease.release(jobId);
+        inFlightJobs.values().removeIf(registration -> registration.isDone()
+                && !registration.isCompletedExceptionally()
+                && jobId.equals(registration.join()));
+    }
+
+    // DB 유니크 제약으로 레포당 진행 중인 작업을 하나로 제한
+    private Claim claimInDatabase(Repo repo) {
+        Optional<ReportJob> activeJob = reportJobRepository.findByActiveRepoId(repo.getId());
+        if (activeJob.isPresent()) {
+            return joinOrTakeOver(activeJob.get());
+        }
+
+        try {
+            ReportJob job = reportJobRepository.save(
+                    ReportJob.queued(repo, reportJobLease.getInstanceId(), reportJobLease.leaseUntil()));
+            reportJobLease.hold(job.getId());
+            return new Claim(job, true);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 먼저 등록한 경우 그 작업에 합류
+            log.info("다른 서버에서 진행 중인 레포트 생성 작업에 합류 repoId={}", repo.getId());
+            return reportJobRepository.findByActiveRepoId(repo.getId())
+                    .map(job -> new Claim(job, false))
+                    .orElseThrow(() -> new IllegalStateException("레포트 생성 작업을 등록하지 못했습니다.", e));
+        }
+    }
+
+    // 진행 중인 작업에 합류 (실행하던 서버의 임대가 끝났으면 가져와서 이 서버가 다시 실행)
+    private Claim joinOrTakeOver(ReportJob job) {
+        if (job.isLeaseExpired(LocalDateTime.now()) && reportJobLease.tryTakeOver(job.getId())) {
+            log.info("임대가 끝난 레포트 생성 작업을 가져와 다시 실행 jobId={}", job.getId());
+            return reportJobRepository.findById(job.getId())
+                    .map(taken -> new Claim(taken, true))
+                    .orElseThrow(() -> new IllegalStateException("레포트 생성 작업을 등록하지 못했습니다."));
+        }
+        return new Claim(job, false);
+    }
+}
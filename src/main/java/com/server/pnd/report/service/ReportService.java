@@ -3,12 +3,16 @@ package com.server.pnd.report.service;
 import com.server.pnd.util.response.CustomApiResponse;
 import org.springframework.http.ResponseEntity;
 
-import java.io.IOException;
+import java.util.List;
 
 public interface ReportService {
-    // report 생성
-    ResponseEntity<CustomApiResponse<?>> createReport(Long repoId) throws IOException;
+    // report 생성 작업 접수 (force 가 아니면 변경 사항이 없을 때 기존 report 반환)
+    ResponseEntity<CustomApiResponse<?>> createReport(Long repoId, boolean force);
 
-    // report 상세 조회
-    ResponseEntity<CustomApiResponse<?>> searchDetail(Long repoId);
+    // report 생성 작업 상태 조회
+    ResponseEntity<CustomApiResponse<?>> searchJob(Long jobId);
+
+    // report 상세 조회 (theme 을 주면 해당 테마의 이미지 URL 반환, themes 를 주면 그 테마 이미지만 반환)
+    // ifNoneMatch 가 현재 ETag 와 같으면 304
+    ResponseEntity<CustomApiResponse<?>> searchDetail(Long repoId, String theme, List<String> themes, String ifNoneMatch);
 }
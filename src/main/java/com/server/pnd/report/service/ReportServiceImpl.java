@@ -1,467 +1,276 @@
 package com.server.pnd.report.service;
 
-import com.server.pnd.diagram.service.QuestionService;
 import com.server.pnd.domain.Repo;
 import com.server.pnd.domain.Report;
+import com.server.pnd.domain.ReportJob;
+import com.server.pnd.domain.ReportVariant;
 import com.server.pnd.domain.User;
-import com.server.pnd.gpt.dto.ChatCompletionDto;
-import com.server.pnd.gpt.dto.ChatRequestMsgDto;
 import com.server.pnd.repo.repository.RepoRepository;
 import com.server.pnd.report.dto.CreateReportResponseDto;
 import com.server.pnd.report.dto.ReportDetailDto;
+import com.server.pnd.report.dto.ReportJobResponseDto;
+import com.server.pnd.report.dto.ReportVariantDto;
+import com.server.pnd.report.render.RenderSettingsFingerprint;
+import com.server.pnd.report.repository.ReportJobRepository;
 import com.server.pnd.report.repository.ReportRepository;
-import com.server.pnd.s3.config.S3Config;
 import com.server.pnd.util.response.CustomApiResponse;
-import com.server.pnd.s3.service.S3Service;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.ArrayList;
-import java.io.*;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService{
     private final RepoRepository repoRepository;
     private final ReportRepository reportRepository;
+    private final ReportJobRepository reportJobRepository;
+    private final ReportJobDispatcher reportJobDispatcher;
+    private final ReportJobSingleFlight reportJobSingleFlight;
     private final GitHubGraphQLService gitHubGraphQLService;
-    private final S3Service s3Service;
-    private final S3Config s3Config;
-    private final QuestionService questionService;
+    private final RenderSettingsFingerprint renderSettingsFingerprint;
 
 
-    // 레포트 생성
+    // 레포트 생성 (작업 접수 후 백그라운드에서 생성)
+    // force 가 아니면, 기본 브랜치 HEAD 와 렌더러 설정이 그대로일 때 기존 레포트를 바로 돌려준다
     @Override
-    public ResponseEntity<CustomApiResponse<?>> createReport(Long repoId) {
-        Process process = null;
-        try {
-            // 404 : 해당 레포가 없는 경우
-            Optional<Repo> foundRepo = repoRepository.findById(repoId);
-            if (foundRepo.isEmpty()) {
-                CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포를 찾을 수 없습니다.");
-                return ResponseEntity.status(404).body(res);
-            }
-            Repo repo = foundRepo.get();
-            Optional<User> foundUser = Optional.ofNullable(repo.getUser());
-
-            // 404 : 해당 유저가 없는 경우
-            if (foundUser.isEmpty()) {
-                CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포의 유저를 찾을 수 없습니다.");
-                return ResponseEntity.status(404).body(res);
-            }
-            User user = foundUser.get();
-
-            // 엑세스 토큰, URL 설정
-            // socialLoginService.refreshGitHubAccessToken(user); // 토큰 업데이트
-            String accessToken = user.getAccessToken();
-            String username = user.getName();
-            String repositoryName = repo.getRepoName();
-            String organizationName = repo.getOrganizationName();
-
-            // 데이터 세팅 ----------------------------------------------------------------------------------------
-
-            // GitHub GraphQL API 사용하여 데이터 가져오기
-            String response = gitHubGraphQLService.fetchUserData(accessToken, username, organizationName, repositoryName);
-            System.err.println("response: " + response);
-
-            // GPT API 사용하여 회고 정보 가져오기
-            String prompt =
-                    "내가 제공하는 링크로 접속하여 깃 레파지토리 내의 모든 디렉토리 및 코드를 확인해줘. 프로젝트를 전체적으로 리뷰 및 회고를 할 수 있도록 회고 가이드를 생성해줘. 혹시 레포지토리 타이틀이 길어 잘리게 된다면, 폰트 크기는 알아서 조절해줘. 템플릿은 예시 그대로 적용하고 내용만 바꿔주면 돼. 다른 설명할 필요 없이 예시로 제공하는 것처럼 **HTML 문법**을 사용하여 큰따옴표로 감싸진 순수한 문자열만 제공해줘.  \n" +
-                            "회고 방법 추천은 애자일 회고의 4가지 방법들인 KPT(Keep, Problem, Try), CSS(Continue, Stop, Start), Mad-Sad-Glad, 4Ls 중에서 레포지토리에 가장 어울리는 걸로 골라주고 그 이유도 아래 예시와 같이 써줘. 회고 방법 설명에는 해당 회고 방법의 진행 방법을 간단하게 써주면 돼. \n" +
-                            "최대한 사용자가 레포지토리별로 맞춤 회고 가이드를 받는다고 느끼도록 섬세하고 차별화된 가이드를 제공해줘. \n" +
-                            "다 작성한 후, 내가 요구한대로 잘 생성을 했는지 다시 확인한 후 보내줘.\n" +
-                            "\n" +
-                            "---\n" +
-                            "\n" +
-                            "<!-- 예시 1 -->\n" +
-                            "[질문]\n" +
-                            "https://github.com/benniejung/all-together-front\n" +
-                            "\n" +
-                            "[답변]\n" +
-                            "<h1 style=\"margin-bottom: -10px;\">\uD83D\uDD04 All Together 프론트엔드 프로젝트 회고가이드 \uD83D\uDD04</h1>\n" +
-                            "\t<div style=\"display: flex;\">\n" +
-                            "  <div style=\"flex: 1;\">\n" +
-                            "    <h2>\uD83D\uDCAD <strong>회고</strong></h2>\n" +
-                            "    <h3>\uD83C\uDFAF 회고 방법 추천: <strong>KPT (Keep, Problem, Try)</strong></h3>\n" +
-                            "    <p>All Together 프로젝트는 프론트엔드에서 유지보수성과 확장성에 중점을 두었기 때문에 <strong>KPT</strong> 방식을 추천드립니다. </p>\n" +
-                            "\n" +
-                            "    <h3>\uD83D\uDCE2 회고 방법 설명</h3>\n" +
-                            "    <p>KPT는 현재 잘되고 있는 부분(Keep), 문제점(Problem), 시도해볼 점(Try)을 구분하여, 각 기능에 대한 피드백을 명확히 할 수 있습니다. 이 방식은 프론트엔드의 디테일한 피드백을 제공하는 데 효과적입니다.</p>\n" +
-                            "\n" +
-                            "    <h3>\uD83C\uDF08 회고를 위한 기본 요소</h3>\n" +
-                            "    <ul style=\"display: flex; list-style-type: none; padding: 0;\">\n" +
-                            "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 개방성과 솔직함</li>\n" +
-                            "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 비판적 사고</li>\n" +
-                            "      <li>\uD83D\uDD05 학습 중심</li>\n" +
-                            "    </ul>\n" +
-                            "  </div>\n" +
-                            "\n" +
-                            "  <div style=\"flex: 1;\">\n" +
-                            "    <h2>\uD83D\uDD2E AI 리뷰</h2>\n" +
-                            "\n" +
-                            " \n" +
-                            "    <h4>\uD83D\uDE80 잘된 점</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>모듈화된 컴포넌트 구조: 유지보수와 확장성이 뛰어났습니다.</li>\n" +
-                            "      <li>협업 도구 사용: GitHub의 Pull Request와 코드 리뷰로 효율성을 높였습니다.</li>\n" +
-                            "    </ul>\n" +
-                            "\n" +
-                            "    <h4>\uD83D\uDD27 개선할 점</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>로딩 속도 최적화: 성능 개선이 필요합니다.</li>\n" +
-                            "      <li>테스트 부족: 더 많은 테스트 케이스가 필요합니다.</li>\n" +
-                            "    </ul>\n" +
-                            "\n" +
-                            "    <h4>\uD83D\uDCA1 회고하면 좋을 것들</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>UI/UX 피드백 반영</li>\n" +
-                            "      <li>기술 부채 관리</li>\n" +
-                            "      <li>CI/CD 파이프라인 구축 경험</li>\n" +
-                            "    </ul>\n" +
-                            "  </div>\n" +
-                            "</div>\n" +
-                            "\n" +
-                            "<!-- 예시 2 -->\n" +
-                            "[질문]\n" +
-                            "https://github.com/khyaejin/YourSide-Server\n" +
-                            "\n" +
-                            "[답변]\n" +
-                            "<h1 style=\"margin-bottom: -10px;\">\uD83D\uDD04 YourSide-Server 백엔드 프로젝트 회고가이드 \uD83D\uDD04</h1>\n" +
-                            "\t<div style=\"display: flex;\">\n" +
-                            "  <div style=\"flex: 1;\">\n" +
-                            "\n" +
-                            "    <h2>\uD83D\uDCAD <strong>회고</strong></h2>\n" +
-                            "    <h3>\uD83C\uDFAF 회고 방법 추천: <strong>4Ls (Liked, Learned, Lacked, Longed for)</strong></h3>\n" +
-                            "    <p>YourSide-Server 프로젝트는 백엔드의 데이터 관리 및 추천 시스템 개발이 중점이었기 때문에 <strong>4Ls</strong> 방식을 추천드립니다.</p>\n" +
-                            "\n" +
-                            "    <h3>\uD83D\uDCE2 회고 방법 설명</h3>\n" +
-                            "    <p>4Ls는 팀원들이 프로젝트에서 좋았던 점(Liked), 배운 점(Learned), 부족했던 점(Lacked), 더 원했던 점(Longed for)을 공유하며, 개선 사항을 도출하기에 효과적입니다.</p>\n" +
-                            "\n" +
-                            "    <h3>\uD83C\uDF08 회고를 위한 기본 요소</h3>\n" +
-                            "    <ul style=\"display: flex; list-style-type: none; padding: 0;\">\n" +
-                            "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 개방성과 솔직함</li>\n" +
-                            "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 비판적 사고</li>\n" +
-                            "      <li>\uD83D\uDD05 학습 중심</li>\n" +
-                            "    </ul>\n" +
-                            "  </div>\n" +
-                            "\n" +
-                            "  <div style=\"flex: 1;\">\n" +
-                            "    <h2>\uD83D\uDD2E AI 리뷰</h2>\n" +
-                            "\n" +
-                            "\n" +
-                            "    <h4>\uD83D\uDE80 잘된 점</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>데이터 관리 효율성: 데이터베이스 설계가 효율적이었습니다.</li>\n" +
-                            "      <li>Spring Boot 활용: 안정적인 배포와 빠른 서비스 제공이 가능했습니다.</li>\n" +
-                            "    </ul>\n" +
-                            "\n" +
-                            "    <h4>\uD83D\uDD27 개선할 점</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>API 성능 최적화: 데이터 처리 속도를 개선할 필요가 있었습니다.</li>\n" +
-                            "      <li>테스트 부족: 더 많은 테스트 커버리지가 필요합니다.</li>\n" +
-                            "    </ul>\n" +
-                            "\n" +
-                            "    <h4>\uD83D\uDCA1 회고하면 좋을 것들</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>데이터 구조 최적화</li>\n" +
-                            "      <li>API 성능 향상 방법</li>\n" +
-                            "      <li>테스트 자동화 도입</li>\n" +
-                            "    </ul>\n" +
-                            "  </div>\n" +
-                            "</div>\n" +
-                            "\n" +
-                            "<!-- 예시 3 -->\n" +
-                            "[질문]\n" +
-                            "https://github.com/khyaejin/Scapture-Server\n" +
-                            "\n" +
-                            "[답변]\n" +
-                            "<h1 style=\"margin-bottom: -10px;\">\uD83D\uDD04 Scapture-Server 백엔드 프로젝트 회고가이드 \uD83D\uDD04</h1>\n" +
-                            "\t<div style=\"display: flex;\">\n" +
-                            "  <div style=\"flex: 1;\">\n" +
-                            "\n" +
-                            "    <h2>\uD83D\uDCAD <strong>회고</strong></h2>\n" +
-                            "    <h3>\uD83C\uDFAF 회고 방법 추천: <strong>CSS (Continue, Stop, Start)</strong></h3>\n" +
-                            "    <p>Scapture-Server 프로젝트는 복잡한 데이터 처리 로직과 빠른 응답이 중요한 백엔드 시스템이었기 때문에 <strong>CSS</strong> 방식을 추천드립니다.</p>\n" +
-                            "\n" +
-                            "    <h3>\uD83D\uDCE2 회고 방법 설명</h3>\n" +
-                            "    <p>CSS 방식은 현재 유지할 것(Continue), 중단할 것(Stop), 새로 시작할 것(Start)을 명확히 구분하여, 성과를 유지하면서 개선할 사항을 도출하는 데 유리합니다.</p>\n" +
-                            "\n" +
-                            "    <h3>\uD83C\uDF08 회고를 위한 기본 요소</h3>\n" +
-                            "    <ul style=\"display: flex; list-style-type: none; padding: 0;\">\n" +
-                            "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 개방성과 솔직함</li>\n" +
-                            "      <li style=\"margin-right: 30px;\">\uD83D\uDD05 비판적 사고</li>\n" +
-                            "      <li>\uD83D\uDD05 학습 중심</li>\n" +
-                            "    </ul>\n" +
-                            "  </div>\n" +
-                            "\n" +
-                            "  <div style=\"flex: 1;\">\n" +
-                            "    <h2>\uD83D\uDD2E AI 리뷰</h2>\n" +
-                            "\n" +
-                            "   \n" +
-                            "    <h4>\uD83D\uDE80 잘된 점</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>데이터 분석 로직: 고성능의 데이터 처리 로직이 설계되었습니다.</li>\n" +
-                            "      <li>RESTful API 설계: API 설계가 간결하고 효율적이었습니다.</li>\n" +
-                            "    </ul>\n" +
-                            "\n" +
-                            "    <h4>\uD83D\uDD27 개선할 점</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>확장성 부족: 일부 모듈의 확장성 문제를 겪었습니다.</li>\n" +
-                            "      <li>로그 관리 부족: 로그 기록이 미흡했습니다.</li>\n" +
-                            "    </ul>\n" +
-                            "\n" +
-                            "    <h4>\uD83D\uDCA1 회고하면 좋을 것들</h4>\n" +
-                            "    <ul>\n" +
-                            "      <li>확장 가능한 구조 설계</li>\n" +
-                            "      <li>로그 관리 자동화</li>\n" +
-                            "      <li>API 버전 관리</li>\n" +
-                            "    </ul>\n" +
-                            "  </div>\n" +
-                            "</div>\n" +
-                            "\n";
-            // 시스템 메시지 생성
-            List<ChatRequestMsgDto> messages = List.of(
-                    ChatRequestMsgDto.builder().role("system").content(prompt).build(),
-                    ChatRequestMsgDto.builder().role("user").content(repo.getRepoURL()).build()
-            );
-
-            // ChatCompletionDto 객체 생성
-            ChatCompletionDto chatCompletionDto = ChatCompletionDto.builder()
-                    .model("gpt-4o")
-                    .messages(messages)
-                    .build();
-
-            // GPT API 호출 및 결과 저장
-            String retroResponse = questionService.callGptApi(chatCompletionDto);
-            System.out.println("retroResponse: "+ retroResponse);
-
-            // 데이터 세팅 끝 ------------------------------------------------------------------------------------------
-
-            // ProcessBuilder 절대 경로 설정
-            String os = System.getProperty("os.name").toLowerCase();
+    public ResponseEntity<CustomApiResponse<?>> createReport(Long repoId, boolean force) {
+        // 404 : 해당 레포가 없는 경우
+        Optional<Repo> foundRepo = repoRepository.findById(repoId);
+        if (foundRepo.isEmpty()) {
+            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포를 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(res);
+        }
+        Repo repo = foundRepo.get();
+        Optional<User> foundUser = Optional.ofNullable(repo.getUser());
 
-            //ts-node 경로 변경
-            String scriptPath;
+        // 404 : 해당 유저가 없는 경우
+        if (foundUser.isEmpty()) {
+            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포의 유저를 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(res);
+        }
 
-            if (os.contains("win")) {
-                // Windows path
-                scriptPath = "./src/main/resources/scripts/3d-contrib/src/index.ts";
-            } else if (os.contains("mac")) {
-                // macOS path
-                scriptPath = "/Users/gimhyejin/Library/CloudStorage/OneDrive-한성대학교/문서/Projects/PND-Server/src/main/resources/scripts/3d-contrib/src/index.ts";
-            } else {
-                // Deploy path for EC2 (Linux)
-                scriptPath = "../../src/main/resources/scripts/3d-contrib/src/index.ts";
+        // 200 : 변경 사항이 없어 기존 레포트 반환
+        if (!force) {
+            Optional<Report> upToDateReport = findUpToDateReport(repo, foundUser.get());
+            if (upToDateReport.isPresent()) {
+                CustomApiResponse<?> res = CustomApiResponse.createSuccess(200, toReportResponse(repo, upToDateReport.get()), "변경 사항이 없어 기존 레포트를 반환합니다.");
+                return ResponseEntity.status(200).body(res);
             }
-            System.out.println("os: " + os);
+        }
 
-            // ProcessBuilder 실행 전 작업 디렉토리 로그 추가
-            System.out.println("실행_전_작업_디렉토리: " + new File(".").getAbsolutePath());
+        // 202 : 같은 레포의 진행 중인 작업이 있으면 그 작업에 합류
+        ReportJobSingleFlight.Claim claim = reportJobSingleFlight.claim(repo);
+        ReportJob job = claim.job();
+        if (!claim.created()) {
+            CustomApiResponse<?> res = CustomApiResponse.createSuccess(202, toJobResponse(job), "이미 진행 중인 레포트 생성 작업이 있습니다.");
+            return ResponseEntity.status(202).body(res);
+        }
 
-            ProcessBuilder processBuilder = new ProcessBuilder("ts-node", scriptPath);
+        // 새로 등록한 작업 제출
+        try {
+            reportJobDispatcher.dispatch(job.getId());
+        } catch (TaskRejectedException e) {
+            // 503 : 대기열이 가득 찬 경우
+            job.fail("대기 중인 레포트 생성 작업이 너무 많습니다.");
+            reportJobRepository.save(job);
+            reportJobSingleFlight.release(job.getId());
+            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(503, "대기 중인 레포트 생성 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            return ResponseEntity.status(503).body(res);
+        }
 
-            // ProcessBuilder 실행 후 로그 추가
-            System.out.println("ProcessBuilder_실행_후_작업_디렉토리: " + processBuilder.directory());
+        // 202 : 레포트 생성 작업 접수 성공
+        CustomApiResponse<?> res = CustomApiResponse.createSuccess(202, toJobResponse(job), "레포트 생성 작업이 접수되었습니다.");
+        return ResponseEntity.status(202).body(res);
+    }
 
-            // 환경 변수 설정
-            processBuilder.environment().put("GITHUB_DATA", response);
-            processBuilder.environment().put("USERNAME", username);
-            processBuilder.environment().put("GITHUB_DATA_RETRO", retroResponse);
+    // 레포트 생성 작업 상태 조회
+    @Override
+    public ResponseEntity<CustomApiResponse<?>> searchJob(Long jobId) {
+        // 404 : 해당 작업이 없는 경우
+        Optional<ReportJob> foundJob = reportJobRepository.findById(jobId);
+        if (foundJob.isEmpty()) {
+            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포트 생성 작업을 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(res);
+        }
 
-            // 경로확인(테스트)
-            System.out.println("Current_Working_Directory: " + Paths.get("").toAbsolutePath().toString());
+        // 200 : 작업 상태 조회 성공
+        CustomApiResponse<?> res = CustomApiResponse.createSuccess(200, toJobResponse(foundJob.get()), "레포트 생성 작업 조회 성공했습니다.");
+        return ResponseEntity.status(200).body(res);
+    }
 
-            // 환경변수 확인(테스트)
-            System.out.println("GITHUB_DATA: " + processBuilder.environment().get("GITHUB_DATA"));
-            System.out.println("USERNAME: " + processBuilder.environment().get("USERNAME"));
-            System.out.println("GITHUB_DATA_RETRO: " + processBuilder.environment().get("GITHUB_DATA_RETRO"));
+    // 기본 브랜치 HEAD 만 조회해 기존 레포트가 최신인지 확인 (조회 실패 시 새로 생성)
+    private Optional<Report> findUpToDateReport(Repo repo, User user) {
+        Optional<Report> foundReport = reportRepository.findWithVariantsByRepoId(repo.getId());
+        if (foundReport.isEmpty()) {
+            return Optional.empty();
+        }
 
-            // 스크립트 실행 및 결과 확인
-            System.out.println("Starting Node.js script...");
-            process = processBuilder.start();
+        String headOid;
+        try {
+            headOid = gitHubGraphQLService.fetchHeadOid(user.getAccessToken(), user.getName(), repo.getOrganizationName(), repo.getRepoName());
+        } catch (Exception e) {
+            log.warn("기본 브랜치 HEAD 조회 실패, 레포트를 새로 생성합니다. repoId={}", repo.getId(), e);
+            return Optional.empty();
+        }
 
-            // 표준 출력 및 표준 오류 스트림을 별도로 처리
-            BufferedReader stdOut = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            BufferedReader stdErr = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+        return foundReport.filter(report -> report.isUpToDate(headOid, renderSettingsFingerprint.get()));
+    }
 
-            List<String> generatedFileNames = new ArrayList<>();
-            String line;
+    private CreateReportResponseDto toReportResponse(Repo repo, Report report) {
+        return CreateReportResponseDto.builder()
+                .id(report.getId())
+                .repoTitle(repo.getTitle()) // 레포의 제목
+                .image(report.imageFor(null))
+                .themes(report.getThemeList())
+                .variants(report.getVariants().stream().map(this::toVariantResponse).toList())
+                .imageGreen(themeImage(report, "green"))
+                .imageSeason(themeImage(report, "season-animate"))
+                .imageNorthSeason(themeImage(report, "north-season-animate"))
+                .imageSouthSeason(themeImage(report, "south-season-animate"))
+                .imageNightView(themeImage(report, "night-view"))
+                .imageNightGreen(themeImage(report, "night-green"))
+                .imageNightRainbow(themeImage(report, "night-rainbow"))
+                .imageGitblock(themeImage(report, "gitblock"))
+                .createdAt(report.localDateTimeToString())
+                .build();
+    }
 
-            // 표준 출력 읽기
-            while ((line = stdOut.readLine()) != null) {
-                System.out.println("stdout: " + line); // 출력된 내용 확인
-                if (line.endsWith(".svg")) { // SVG 파일 이름을 포함하는 줄을 찾음
-                    generatedFileNames.add(line.trim()); // 파일 이름 저장
-                }
-            }
+    // 기존 테마별 이미지 필드 (해당 테마가 없으면 null)
+    private static String themeImage(Report report, String theme) {
+        return report.getThemeList().contains(theme) ? report.imageFor(theme) : null;
+    }
 
-            // 표준 오류 읽기
-            while ((line = stdErr.readLine()) != null) {
-                System.err.println("stderr: " + line); // 표준 오류 출력
-            }
+    private ReportJobResponseDto toJobResponse(ReportJob job) {
+        CreateReportResponseDto result = null;
+        if (job.getReport() != null) {
+            result = toReportResponse(job.getRepo(), job.getReport());
+        }
 
-            // 프로세스 종료 코드 확인
-            int exitCode = process.waitFor();
-            System.out.println("Node.js script finished with exit code: " + exitCode);
+        return ReportJobResponseDto.builder()
+                .jobId(job.getId())
+                .repoId(job.getRepo().getId())
+                .status(job.getStatus().name())
+                .stage(job.getStage().name())
+                .progress(job.getProgress())
+                .errorMessage(job.getErrorMessage())
+                .stageTimings(job.getStageTimings())
+                .result(result)
+                .build();
+    }
 
-            if (exitCode != 0) {
-                // 오류 출력
-                throw new RuntimeException("레포트 생성 중 오류 발생, exit code: " + exitCode);
+    @Override
+    public ResponseEntity<CustomApiResponse<?>> searchDetail(Long repoId, String theme, List<String> themes, String ifNoneMatch) {
+        // 레포, 테마별 이미지를 한 번에 조회
+        Optional<Report> foundReport = reportRepository.findWithVariantsByRepoId(repoId);
+        if (foundReport.isEmpty()) {
+            // 해당 레포가 없는 경우 : 404
+            if (!repoRepository.existsById(repoId)) {
+                CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포를 찾을 수 없습니다.");
+                return ResponseEntity.status(404).body(res);
             }
+            // 해당 레포의 레포트가 없는 경우 : 404
+            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포의 레포트가 존재하지 않습니다.");
+            return ResponseEntity.status(404).body(res);
+        }
+        Report report = foundReport.get();
+        Repo repo = report.getRepo();
 
-            String[] imageUrl = new String[8]; // 배포 이미지 url
-
-            if (!generatedFileNames.isEmpty()) {
-                System.out.println("Generated SVG files: " + String.join(", ", generatedFileNames));
-
-                int i = 0;
-                for (String svgFileName : generatedFileNames) {
-                    if (i >= imageUrl.length) {
-                        break; // 배열 크기를 초과하지 않도록 안전 장치
-                    }
-
-                    // 파일 경로 설정
-                    String outputPath;
-                    if (os.contains("win")) {
-                        // Windows path
-                        outputPath = "./src/main/resources/profile-3d-contrib/" + svgFileName;
-                    } else if (os.contains("mac")) {
-                        // macOS path
-                        outputPath = "/Users/gimhyejin/Library/CloudStorage/OneDrive-한성대학교/문서/Projects/PND-Server/src/main/resources/profile-3d-contrib/" + svgFileName;
-                    } else {
-                        // Deploy path for EC2 (Linux)
-                        outputPath = "../../src/main/resources/profile-3d-contrib/" + svgFileName;
-
-                    }
-
-                    File file = new File(outputPath);
-
-                    // S3에 파일 업로드 & 파일(사진) 링크 저장
-                    imageUrl[i] = s3Service.upload(file, username, svgFileName);
-
-                    // 해당 file 지우기
-                    if (file.delete()) {
-                        System.out.println("file 삭제 성공 : " + file.getPath());
-                    } else {
-                        System.out.println("file 삭제 실패 : " + file.getPath());
-                    }
-
-                    // 생성된 Report에 대한 정보 출력
-                    System.out.println("Report created with image URL: " + imageUrl[i]);
-
-                    i++;
-                }
-
-                Optional<Report> foundReport = reportRepository.findByRepo(repo);
-                Report report;
-
-                // 이미 존재하는 report가 있는 경우 -> 업데이트
-                if (foundReport.isPresent()) {
-                    // 기존 report 가져오기
-                    report = foundReport.get();
-                    // 기존 필드 수정
-                    report.setImageGreen(imageUrl[0]);
-                    report.setImageSeason(imageUrl[1]);
-                    report.setImageNorthSeason(imageUrl[2]);
-                    report.setImageSouthSeason(imageUrl[3]);
-                    report.setImageNightView(imageUrl[4]);
-                    report.setImageNightGreen(imageUrl[5]);
-                    report.setImageNightRainbow(imageUrl[6]);
-                    report.setImageGitblock(imageUrl[7]);
-                    // DB에 업데이트
-                    reportRepository.save(report);
-                } else {
-                    // 존재하지 않는 경우 -> 새로 삽입
-                    report = Report.builder()
-                            .repo(repo)
-                            .imageGreen(imageUrl[0])
-                            .imageSeason(imageUrl[1])
-                            .imageNorthSeason(imageUrl[2])
-                            .imageSouthSeason(imageUrl[3])
-                            .imageNightView(imageUrl[4])
-                            .imageNightGreen(imageUrl[5])
-                            .imageNightRainbow(imageUrl[6])
-                            .imageGitblock(imageUrl[7])
-                            .build();
-                    reportRepository.save(report);
-                }
+        // 선택한 테마 (없는 테마이거나 지정하지 않으면 기본 테마)
+        ReportVariant selected = report.variantFor(theme);
 
-                // 201 : 레포트 생성 성공
-                CreateReportResponseDto data = CreateReportResponseDto.builder()
-                        .id(report.getId())
-                        .repoTitle(repo.getTitle()) // 레포의 제목
-                        .imageGreen(imageUrl[0])
-                        .imageSeason(imageUrl[1])
-                        .imageNorthSeason(imageUrl[2])
-                        .imageSouthSeason(imageUrl[3])
-                        .imageNightView(imageUrl[4])
-                        .imageNightGreen(imageUrl[5])
-                        .imageNightRainbow(imageUrl[6])
-                        .imageGitblock(imageUrl[7])
-                        .createdAt(reportRepository.findByRepo(repo).get().localDateTimeToString()) // 마지막으로 저장된 Report의 시간 가져오기
-                        .build();
+        // 요청한 테마 이미지만 (지정하지 않으면 전체)
+        List<ReportVariant> variants = report.getVariants();
+        if (themes != null && !themes.isEmpty()) {
+            variants = variants.stream()
+                    .filter(variant -> themes.contains(variant.getTheme()))
+                    .toList();
 
-                CustomApiResponse<?> res = CustomApiResponse.createSuccess(201, data, "레포트 생성 성공했습니다.");
-                return ResponseEntity.status(201).body(res);
-            } else {
-                throw new RuntimeException("SVG 파일 생성 중 오류 발생, 파일 이름을 찾을 수 없음.");
+            // 요청한 테마의 이미지가 하나도 없는 경우 : 404
+            if (variants.isEmpty()) {
+                CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "요청한 테마의 이미지가 존재하지 않습니다.");
+                return ResponseEntity.status(404).body(res);
             }
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(500, "서버 오류로 인해 레포트를 생성할 수 없습니다.");
-            return ResponseEntity.status(500).body(res);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(500, "프로세스 실행 중 오류가 발생했습니다.");
-            return ResponseEntity.status(500).body(res);
-        } catch (Exception e) {
-            e.printStackTrace();
-
-            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(500, "알 수 없는 오류가 발생했습니다.");
-            return ResponseEntity.status(500).body(res);
-        }
-    }
-
-    @Override
-    public ResponseEntity<CustomApiResponse<?>> searchDetail(Long repoId) {
-        // 해당 레포가 없는 경우 : 404
-        Optional<Repo> foundRepo = repoRepository.findById(repoId);
-        if (foundRepo.isEmpty()) {
-            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포를 찾을 수 없습니다.");
-            return ResponseEntity.status(404).body(res);
         }
-        Repo repo = foundRepo.get();
 
-        // 해당 레포의 레포트가 없는 경우 : 404
-        Optional<Report> foundReport = reportRepository.findByRepo(repo);
-        if (foundReport.isEmpty()) {
-            CustomApiResponse<?> res = CustomApiResponse.createFailWithoutData(404, "해당 레포의 레포트가 존재하지 않습니다.");
-            return ResponseEntity.status(404).body(res);
+        // 응답 내용이 그대로면 : 304
+        String eTag = detailETag(repo, selected, variants);
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(304).eTag(eTag).build();
         }
-        Report report = foundReport.get();
 
         // data
         ReportDetailDto data = ReportDetailDto.builder()
                 .id(report.getId())
                 .repoTitle(repo.getTitle())
-                .imageGreen(report.getImageGreen())
-                .imageSeason(report.getImageSeason())
-                .imageSouthSeason(report.getImageSouthSeason())
-                .imageNightView(report.getImageNightView())
-                .imageNightGreen(report.getImageNightGreen())
-                .imageNightRainbow(report.getImageNightRainbow())
-                .imageGitblock(report.getImageGitblock())
+                .image(selected != null ? selected.getUrl() : null)
+                .theme(selected != null ? selected.getTheme() : null)
+                .previews(selected != null ? selected.getPreviews() : null)
+                .themes(report.getThemeList())
+                .variants(variants.stream().map(this::toVariantResponse).toList())
                 .createdAt(report.localDateTimeToString())
                 .build();
 
         // 레포트 상세조회 성공 : 200
         CustomApiResponse<?> res = CustomApiResponse.createSuccess(200, data, "레포트 상세 조회 성공했습니다.");
-        return ResponseEntity.status(200).body(res);
+        return ResponseEntity.status(200).eTag(eTag).body(res);
+    }
+
+    private ReportVariantDto toVariantResponse(ReportVariant variant) {
+        return ReportVariantDto.builder()
+                .theme(variant.getTheme())
+                .url(variant.getUrl())
+                .themeableUrl(variant.getThemeableUrl())
+                .byteSize(variant.getByteSize())
+                .renderedByteSize(variant.getRenderedByteSize())
+                .storedByteSize(variant.getStoredByteSize())
+                .savedBytes(variant.getRenderedByteSize() > 0 ? variant.getRenderedByteSize() - variant.getStoredByteSize() : 0)
+                .contentHash(variant.getContentHash())
+                .etag(variant.getETag())
+                .previews(variant.getPreviews())
+                .createdAt(variant.localDateTimeToString())
+                .build();
+    }
+
+    // 상세 조회 응답의 ETag (레포 제목, 선택한 테마, 응답에 담긴 테마 이미지들의 ETag 와 미리보기 URL 로 계산)
+    private static String detailETag(Repo repo, ReportVariant selected, List<ReportVariant> variants) {
+        StringBuilder source = new StringBuilder(String.valueOf(repo.getTitle()));
+        source.append('|').append(selected != null ? selected.getETag() : "");
+        for (ReportVariant variant : variants) {
+            source.append('|').append(variant.getETag()).append(variant.getPreviews());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // If-None-Match 에 현재 ETag 가 있는지 (약한 비교)
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
\ No newline at end of file
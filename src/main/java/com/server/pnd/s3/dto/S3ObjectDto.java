@@ -0,0 +1,16 @@
+package com.server.pnd.s3.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 내용 주소 기반(SHA-256)으로 저장된 S3 객체
+@Getter
+@AllArgsConstructor
+public class S3ObjectDto {
+    private String key; // 버킷 내 객체 이름 (reports/gz/{sha256}.svg, reports/{sha256}.png)
+    private String url;
+    private String contentHash; // SHA-256 (hex)
+    private long byteSize; // 원본 크기
+    private long storedByteSize; // 버킷에 저장된 크기 (gzip 이면 압축 후 크기)
+    private boolean created; // 이번 요청에서 새로 업로드했는지 (false 면 기존 객체 재사용)
+}
@@ -1,16 +1,31 @@
 package com.server.pnd.s3.service;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.server.pnd.s3.dto.S3ObjectDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
 
 /* S3Service.java */
 @Slf4j
@@ -23,21 +38,166 @@ public class S3Service {
     private String userImageBucket;
     @Value("${cloud.aws.s3.repoImageBucketName}")
     private String repoImageBucket;
+    @Value("${cloud.aws.s3.report-gzip:true}")
+    private boolean reportGzip; // 텍스트 이미지(SVG)를 gzip 으로 압축해 저장 (Content-Encoding: gzip)
+    @Value("${cloud.aws.s3.report-cache-control:public, max-age=31536000, immutable}")
+    private String reportCacheControl; // 레포트 이미지는 내용 주소 기반이라 바뀌지 않으므로 오래 캐시
+    @Value("${cloud.aws.s3.report-refresh-after-days:3}")
+    private long reportRefreshAfterDays; // 이보다 오래된 기존 객체를 재사용할 때는 다시 올려 수정 시각을 갱신 (참조 없는 객체 정리 유예 기간보다 짧게)
     private final AmazonS3 amazonS3;
+    private final ThreadPoolTaskExecutor s3UploadExecutor;
 
-    public String upload(File file, String userName, String fileName) {
-        String name = userName + "/" + fileName;
+    private static final String REPORT_IMAGE_PREFIX = "reports/";
+    private static final String GZIP_PREFIX = "gz/"; // 인코딩이 다른 객체는 다른 이름 공간에 (reports/gz/{sha256}.svg)
+    private static final int KNOWN_HASH_CAPACITY = 10_000;
+    private static final long KNOWN_HASH_TTL_MILLIS = Duration.ofHours(1).toMillis(); // 다른 인스턴스의 정리 작업 반영 주기
+    private static final String SVG_CONTENT_TYPE = "image/svg+xml";
 
-        // 메타데이터 설정
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentLength(file.length()); // 파일 크기 설정
-        metadata.setContentType("image/svg+xml"); // 파일의 MIME 타입 설정 (필요에 따라 수정)
+    // 이미 버킷에 있다고 확인된 객체 이름 -> 확인 시각 (LRU, HEAD 요청 절약용, 확인 후 KNOWN_HASH_TTL 동안만 믿는다)
+    private final Map<String, Long> knownHashes = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > KNOWN_HASH_CAPACITY;
+                }
+            });
+
+    // 레포트 SVG 일괄 업로드
+    public List<S3ObjectDto> uploadAll(List<byte[]> contents) {
+        return uploadAll(contents, "svg", SVG_CONTENT_TYPE);
+    }
+
+    // 레포트 이미지 일괄 업로드 (동시에 전송, 요청 순서대로 결과 반환)
+    // 객체 이름은 내용의 SHA-256 이므로 같은 이미지는 한 번만 저장되고 여러 레포트가 공유한다.
+    // 하나라도 실패하면 예외를 던진다. 이번에 올린 객체는 다른 레포트나 동시에 진행 중인 업로드가
+    // 같은 키로 쓰고 있을 수 있으므로 지우지 않고, 참조가 없는 객체는 ReportImageGarbageCollector 가 정리한다.
+    public List<S3ObjectDto> uploadAll(List<byte[]> contents, String extension, String contentType) {
+        // 같은 요청 안의 동일한 이미지도 한 번만 업로드
+        Map<String, CompletableFuture<S3ObjectDto>> uploadsByHash = new LinkedHashMap<>();
+        List<CompletableFuture<S3ObjectDto>> futures = new ArrayList<>();
+        for (byte[] content : contents) {
+            String contentHash = sha256Hex(content);
+            futures.add(uploadsByHash.computeIfAbsent(contentHash, hash -> CompletableFuture.supplyAsync(
+                    () -> uploadContentAddressed(hash, content, extension, contentType), s3UploadExecutor)));
+        }
+
+        try {
+            CompletableFuture.allOf(uploadsByHash.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("레포트 이미지 업로드 실패", e.getCause());
+        }
+
+        List<S3ObjectDto> objects = new ArrayList<>();
+        for (CompletableFuture<S3ObjectDto> future : futures) {
+            objects.add(future.join());
+        }
+        return objects;
+    }
+
+    // 이미 있는 객체면 (로컬 인덱스 또는 HEAD 로 확인) PUT 을 건너뛴다
+    // 단, 오래된 객체는 다시 올려 수정 시각을 갱신한다. (재사용 직후 정리 작업에 지워지지 않도록)
+    // SVG 는 gzip 으로 압축해 reports/gz/ 아래에 저장한다. (객체 이름은 압축 전 내용의 해시)
+    // 압축하지 않은 이전 객체(reports/{sha256}.svg)와 키가 겹치지 않으므로 재사용 시 인코딩이 섞이지 않는다.
+    private S3ObjectDto uploadContentAddressed(String contentHash, byte[] content, String extension, String contentType) {
+        boolean gzip = reportGzip && contentType.equals(SVG_CONTENT_TYPE); // PNG 는 이미 압축되어 있음
+        String key = REPORT_IMAGE_PREFIX + (gzip ? GZIP_PREFIX : "") + contentHash + "." + extension;
+        byte[] stored = gzip ? gzip(content) : content;
+
+        boolean exists = isKnown(key) || isFresh(key);
+        if (!exists) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(stored.length);
+            metadata.setContentType(contentType);
+            metadata.setCacheControl(reportCacheControl);
+            if (gzip) {
+                metadata.setContentEncoding("gzip");
+            }
+            amazonS3.putObject(githubReportImageBucket, key, new ByteArrayInputStream(stored), metadata);
+        }
+        knownHashes.put(key, System.currentTimeMillis());
+
+        String url = amazonS3.getUrl(githubReportImageBucket, key).toString();
+        return new S3ObjectDto(key, url, contentHash, content.length, stored.length, !exists);
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean isKnown(String key) {
+        Long verifiedAt = knownHashes.get(key);
+        return verifiedAt != null && System.currentTimeMillis() - verifiedAt < KNOWN_HASH_TTL_MILLIS;
+    }
+
+    // 버킷에 있고 수정 시각이 갱신 기준보다 최근인지 (HEAD)
+    private boolean isFresh(String key) {
+        try {
+            ObjectMetadata metadata = amazonS3.getObjectMetadata(githubReportImageBucket, key);
+            long age = System.currentTimeMillis() - metadata.getLastModified().getTime();
+            return age < Duration.ofDays(reportRefreshAfterDays).toMillis();
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    // 레포트 이미지 객체 목록 (참조 없는 객체 정리용)
+    public List<S3ObjectSummary> listReportImages() {
+        List<S3ObjectSummary> summaries = new ArrayList<>();
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(githubReportImageBucket)
+                .withPrefix(REPORT_IMAGE_PREFIX);
+        ListObjectsV2Result result;
+        do {
+            result = amazonS3.listObjectsV2(request);
+            summaries.addAll(result.getObjectSummaries());
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+        return summaries;
+    }
 
-        // S3에 파일 업로드
-        amazonS3.putObject(new PutObjectRequest(githubReportImageBucket, name, file));
+    // 레포트 이미지의 현재 수정 시각 (HEAD, 없으면 empty)
+    public Optional<Date> reportImageLastModified(String key) {
+        try {
+            return Optional.of(amazonS3.getObjectMetadata(githubReportImageBucket, key).getLastModified());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    // 참조 없는 레포트 이미지 삭제 (ReportImageGarbageCollector 전용)
+    public void deleteReportImage(String key) {
+        knownHashes.remove(key);
+        amazonS3.deleteObject(githubReportImageBucket, key);
+    }
 
-        // 업로드된 파일의 URL 반환
-        return amazonS3.getUrl(githubReportImageBucket, name).toString();
+    // 이미지 URL 에서 버킷 내 객체 이름 추출 (레포트 이미지가 아니면 null)
+    public static String reportImageKey(String url) {
+        if (url == null) {
+            return null;
+        }
+        String path = URI.create(url).getPath();
+        int start = path.indexOf("/" + REPORT_IMAGE_PREFIX);
+        return start < 0 ? null : path.substring(start + 1);
     }
 
     // name: User PK + name
@@ -1,9 +1,11 @@
 package com.server.pnd.util.exception;
 
+import com.server.pnd.gpt.exception.GptApiException;
 import com.server.pnd.util.response.CustomApiResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -36,4 +38,16 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST)
                 .body(CustomApiResponse.createFailWithoutData(HttpStatus.BAD_REQUEST.value(), errorMessage));
     }
+
+    // GPT 호출 실패 (비동기 응답의 실패도 여기로 온다), 다시 시도할 시점을 알면 Retry-After 로 전달
+    @ExceptionHandler(GptApiException.class)
+    public ResponseEntity<CustomApiResponse<?>> handleGptApiException(GptApiException e) {
+        int status = e.getResponseStatus();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (e.getRetryAfter() != null) {
+            long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        }
+        return response.body(CustomApiResponse.createFailWithoutData(status, e.getMessage()));
+    }
 }
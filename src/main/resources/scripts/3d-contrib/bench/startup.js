@@ -0,0 +1,107 @@
+// 렌더 워커 기동 시간 비교 (ts-node 실행 vs 번들 실행 vs 번들 + V8 컴파일 캐시)
+// 워커를 띄우고 작은 렌더 작업 1개의 응답 헤더를 받을 때까지의 시간을 잰다.
+//
+// 사용법 (scripts/3d-contrib 에서)
+//   npm run build:worker            # dist/worker/index.js 생성
+//   npm run bench:startup -- [반복 횟수=5]
+const { spawn } = require('child_process');
+const fs = require('fs');
+const os = require('os');
+const path = require('path');
+
+const runs = Number(process.argv[2] || 5);
+const root = path.join(__dirname, '..');
+const bundle = path.join(root, 'dist', 'worker', 'index.js');
+const compileCache = fs.mkdtempSync(path.join(os.tmpdir(), 'pnd-compile-cache-'));
+
+// 1년치 기여가 있는 작은 요약 (RepositorySummary schemaVersion 1)
+const today = Math.floor(Date.now() / 86400000);
+const days = [...Array(365)].map((_, i) => today - 364 + i);
+const job = {
+    id: 1,
+    username: 'bench',
+    retrospect: '<p>bench</p>',
+    summary: {
+        schemaVersion: 1,
+        name: 'bench-repo',
+        forkCount: 1,
+        stargazerCount: 1,
+        primaryLanguage: { name: 'Java', color: '#b07219' },
+        languages: [{ name: 'Java', color: '#b07219', size: 100, share: 1 }],
+        days,
+        dayCounts: days.map((d) => d % 7),
+        dayLevels: days.map((d) => Math.min(4, d % 5)),
+        commitsByHour: [...Array(24)].map((_, i) => i % 4),
+        authors: [{ name: 'bench', commits: 10, additions: 100, deletions: 10 }],
+        totalContributions: 1000,
+        totalCommits: 10,
+    },
+};
+
+const frame = (payload) => {
+    const header = Buffer.alloc(4);
+    header.writeUInt32BE(payload.length, 0);
+    return Buffer.concat([header, payload]);
+};
+
+// 워커 시작 -> 첫 응답 헤더 프레임 수신까지 (ms)
+const measure = (command, args, env) =>
+    new Promise((resolve, reject) => {
+        const startedAt = process.hrtime.bigint();
+        const child = spawn(command, args, {
+            cwd: root,
+            env: { ...process.env, ...env },
+            stdio: ['pipe', 'pipe', 'ignore'],
+            shell: process.platform === 'win32',
+        });
+        let pending = Buffer.alloc(0);
+        child.stdout.on('data', (chunk) => {
+            pending = Buffer.concat([pending, chunk]);
+            if (pending.length >= 4 && pending.length >= 4 + pending.readUInt32BE(0)) {
+                const elapsed = Number(process.hrtime.bigint() - startedAt) / 1e6;
+                child.kill();
+                resolve(elapsed);
+            }
+        });
+        child.on('error', reject);
+        child.on('exit', (code) => code && reject(new Error(`${command} exited with ${code}`)));
+        child.stdin.write(frame(Buffer.from(JSON.stringify(job), 'utf8')));
+    });
+
+const variants = [
+    ['ts-node', 'ts-node', ['src/worker.ts'], {}],
+    ['bundle', 'node', [bundle], {}],
+    ['bundle + compile cache', 'node', [bundle], { NODE_COMPILE_CACHE: compileCache }],
+];
+
+const main = async () => {
+    console.log(`node ${process.version}, runs=${runs}`);
+    if (!fs.existsSync(bundle)) {
+        console.log(`번들이 없습니다. 먼저 npm run build:worker 를 실행하세요. (${bundle})`);
+    }
+    for (const [name, command, args, env] of variants) {
+        if (command === 'node' && !fs.existsSync(bundle)) {
+            continue;
+        }
+        if (env.NODE_COMPILE_CACHE) {
+            await measure(command, args, env); // 캐시 채우기
+        }
+        const times = [];
+        try {
+            for (let i = 0; i < runs; i++) {
+                times.push(await measure(command, args, env));
+            }
+        } catch (error) {
+            console.log(`${name.padEnd(24)} 실행 실패: ${error.message}`);
+            continue;
+        }
+        times.sort((a, b) => a - b);
+        const median = times[Math.floor(times.length / 2)];
+        console.log(
+            `${name.padEnd(24)} median ${median.toFixed(0)}ms  min ${times[0].toFixed(0)}ms  max ${times[times.length - 1].toFixed(0)}ms`
+        );
+    }
+    fs.rmSync(compileCache, { recursive: true, force: true });
+};
+
+main();